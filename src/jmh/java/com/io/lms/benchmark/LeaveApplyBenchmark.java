@@ -0,0 +1,298 @@
+package com.io.lms.benchmark;
+
+import com.io.lms.LmsApplication;
+import com.io.lms.dto.ExtraWorkRequest;
+import com.io.lms.dto.ExtraWorkResponse;
+import com.io.lms.dto.LeaveRequest;
+import com.io.lms.dto.LeaveResponse;
+import com.io.lms.exception.LeaveConstraintFailException;
+import com.io.lms.model.Employee;
+import com.io.lms.model.Gender;
+import com.io.lms.model.Leave;
+import com.io.lms.repository.EmployeeRepository;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.service.EmployeeContext;
+import com.io.lms.service.EmployeeService;
+import com.io.lms.service.LeaveLedgerService;
+import com.io.lms.service.MaternityLeaveService;
+import com.io.lms.service.OutOfOfficeLeaveService;
+import com.io.lms.service.PaternityLeaveService;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.Utility;
+import com.io.lms.util.ValidationResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.io.lms.constant.Constants.OutOfOffice;
+
+/**
+ * End-to-end leave and extra-work requests through the services, against an embedded H2 database holding a
+ * synthetic population: employees who joined ten years ago with {@code historySize} one-day leaves on past
+ * working days. Every operation runs in a transaction that is flushed, so the inserts and updates reach the
+ * database, and then rolled back, so the population is the same for every operation. The {@code validate}
+ * benchmarks stop before saving; the gap to the {@code apply} benchmarks is the persistence cost, and the
+ * calendar maths on its own is measured by {@link UtilityBenchmark}. The {@code reject} benchmarks send a leave
+ * overlapping one already taken, once through the validation result and once through the throwing API. Vary
+ * the threads with {@code -t}:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="LeaveApplyBenchmark -t 4"}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaveApplyBenchmark {
+
+    private static final int EMPLOYEES_PER_GENDER = 64;
+
+    @State(Scope.Benchmark)
+    public static class Population {
+        @Param({"10", "100"})
+        int historySize;
+
+        ConfigurableApplicationContext context;
+        OutOfOfficeLeaveService outOfOfficeLeaveService;
+        MaternityLeaveService maternityLeaveService;
+        PaternityLeaveService paternityLeaveService;
+        EmployeeService employeeService;
+        EntityManagerFactory entityManagerFactory;
+        TransactionTemplate transactionTemplate;
+        List<Long> femaleEmployeeIds = new ArrayList<>();
+        List<Long> maleEmployeeIds = new ArrayList<>();
+        int lastLeaveDay;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = SpringApplication.run(LmsApplication.class,
+                    "--spring.datasource.url=jdbc:h2:mem:lmsbenchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.hibernate.ddl-auto=create-drop",
+                    "--spring.jpa.show-sql=false",
+                    "--spring.main.web-application-type=none",
+                    "--spring.main.banner-mode=off",
+                    "--logging.file.name=target/benchmark.log",
+                    "--logging.level.root=WARN");
+            outOfOfficeLeaveService = context.getBean(OutOfOfficeLeaveService.class);
+            maternityLeaveService = context.getBean(MaternityLeaveService.class);
+            paternityLeaveService = context.getBean(PaternityLeaveService.class);
+            employeeService = context.getBean(EmployeeService.class);
+            entityManagerFactory = context.getBean(EntityManagerFactory.class);
+            transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+            LeaveRepository leaveRepository = context.getBean(LeaveRepository.class);
+            LeaveLedgerService leaveLedgerService = context.getBean(LeaveLedgerService.class);
+            List<Integer> pastWorkingDays = getPastWorkingDays(historySize);
+            lastLeaveDay = pastWorkingDays.get(0);
+            for (int i = 0; i < 2 * EMPLOYEES_PER_GENDER; i++) {
+                Gender gender = (i % 2 == 0) ? Gender.FEMALE : Gender.MALE;
+                Employee employee = new Employee();
+                employee.setName("Benchmark Employee " + i);
+                employee.setEmail("employee" + i + "@benchmark.io");
+                employee.setGender(gender);
+                employee.setJoiningDate(EpochDays.toDate(EpochDays.plusYears(EpochDays.today(), -10)));
+                employee = employeeRepository.save(employee);
+                List<Leave> leaves = new ArrayList<>();
+                for (int day : pastWorkingDays) {
+                    Leave leave = new Leave();
+                    leave.setEmployee(employee);
+                    leave.setLeaveType(OutOfOffice);
+                    leave.setLeaveCount(1L);
+                    leave.setStartDate(EpochDays.toDate(day));
+                    leave.setEndDate(EpochDays.toDate(day));
+                    leaves.add(leave);
+                }
+                leaveRepository.saveAll(leaves);
+                // committed up front so operations only update the ledger instead of building it
+                leaveLedgerService.rebuild(employee.getId(), OutOfOffice);
+                (gender == Gender.FEMALE ? femaleEmployeeIds : maleEmployeeIds).add(employee.getId());
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+        // one-day leaves every third working day, going back from a month ago
+        private static List<Integer> getPastWorkingDays(int count) {
+            List<Integer> days = new ArrayList<>();
+            int day = EpochDays.today() - 30;
+            int workingDaysSeen = 0;
+            while (days.size() < count) {
+                if (!Utility.isDateHolidaysORNonWorkingDays(day) && workingDaysSeen++ % 3 == 0) {
+                    days.add(day);
+                }
+                day--;
+            }
+            return days;
+        }
+
+        <T> T inRolledBackTransaction(Supplier<T> operation) {
+            return transactionTemplate.execute((status) -> {
+                T result = operation.get();
+                EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory).flush();
+                status.setRollbackOnly();
+                return result;
+            });
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        List<Long> femaleEmployeeIds = new ArrayList<>();
+        List<Long> maleEmployeeIds = new ArrayList<>();
+        int next;
+        String nextMonday;
+        String nextMondayPlusOne;
+        String nextMondayPlusFour;
+        String nextMondayPlusThirteen;
+        String expectedDeliveryDate;
+        String childDOB;
+        String extraWorkStart;
+        String extraWorkEnd;
+        String lastLeaveDate;
+
+        @Setup(Level.Trial)
+        public void setUp(Population population, ThreadParams threadParams) {
+            // each thread works on its own employees, as concurrent requests for one employee are rare
+            for (int i = threadParams.getThreadIndex(); i < EMPLOYEES_PER_GENDER; i += threadParams.getThreadCount()) {
+                femaleEmployeeIds.add(population.femaleEmployeeIds.get(i));
+                maleEmployeeIds.add(population.maleEmployeeIds.get(i));
+            }
+            int today = EpochDays.today();
+            int monday = today + 7;
+            while (EpochDays.dayOfWeek(monday) != 2) {
+                monday++;
+            }
+            int saturday = today - 1;
+            while (EpochDays.dayOfWeek(saturday) != 7) {
+                saturday--;
+            }
+            nextMonday = EpochDays.format(monday);
+            nextMondayPlusOne = EpochDays.format(monday + 1);
+            nextMondayPlusFour = EpochDays.format(monday + 4);
+            nextMondayPlusThirteen = EpochDays.format(monday + 13);
+            expectedDeliveryDate = EpochDays.format(monday + 30);
+            childDOB = EpochDays.format(today - 10);
+            extraWorkStart = EpochDays.format(saturday) + " 09:00:00";
+            extraWorkEnd = EpochDays.format(saturday) + " 18:00:00";
+            lastLeaveDate = EpochDays.format(population.lastLeaveDay);
+        }
+
+        Long nextEmployee(List<Long> employeeIds) {
+            next = (next + 1) % employeeIds.size();
+            return employeeIds.get(next);
+        }
+
+        LeaveRequest leaveRequest(String endDate) {
+            LeaveRequest leaveRequest = new LeaveRequest();
+            leaveRequest.setStartDate(nextMonday);
+            leaveRequest.setEndDate(endDate);
+            return leaveRequest;
+        }
+    }
+
+    @Benchmark
+    public LeaveResponse applyOutOfOfficeLeave(Population population, Requests requests) {
+        Long empId = requests.nextEmployee(requests.maleEmployeeIds);
+        LeaveRequest leaveRequest = requests.leaveRequest(requests.nextMondayPlusOne);
+        return population.inRolledBackTransaction(() -> call(() -> population.outOfOfficeLeaveService.enterNewLeaveRequest(leaveRequest, empId)));
+    }
+
+    @Benchmark
+    public Leave validateOutOfOfficeLeave(Population population, Requests requests) {
+        Long empId = requests.nextEmployee(requests.maleEmployeeIds);
+        LeaveRequest leaveRequest = requests.leaveRequest(requests.nextMondayPlusOne);
+        leaveRequest.setEmpId(empId);
+        return population.inRolledBackTransaction(() -> call(() -> {
+            EmployeeContext employeeContext = population.employeeService.loadEmployeeContext(empId);
+            ValidationResult validationResult = new ValidationResult();
+            Leave leave = population.outOfOfficeLeaveService.mapFromLeaveRequestToLeave(leaveRequest, employeeContext, validationResult);
+            validationResult.throwIfInvalid(LeaveConstraintFailException::new);
+            return leave;
+        }));
+    }
+
+    @Benchmark
+    public LeaveResponse applyMaternityLeave(Population population, Requests requests) {
+        Long empId = requests.nextEmployee(requests.femaleEmployeeIds);
+        LeaveRequest leaveRequest = requests.leaveRequest(requests.nextMondayPlusThirteen);
+        leaveRequest.setExpectedDeliveryDate(requests.expectedDeliveryDate);
+        return population.inRolledBackTransaction(() -> call(() -> population.maternityLeaveService.enterNewLeaveRequest(leaveRequest, empId)));
+    }
+
+    @Benchmark
+    public LeaveResponse applyPaternityLeave(Population population, Requests requests) {
+        Long empId = requests.nextEmployee(requests.maleEmployeeIds);
+        LeaveRequest leaveRequest = requests.leaveRequest(requests.nextMondayPlusFour);
+        leaveRequest.setChildDOB(requests.childDOB);
+        return population.inRolledBackTransaction(() -> call(() -> population.paternityLeaveService.enterNewLeaveRequest(leaveRequest, empId)));
+    }
+
+    @Benchmark
+    public ExtraWorkResponse logExtraWork(Population population, Requests requests) {
+        Long empId = requests.nextEmployee(requests.femaleEmployeeIds);
+        ExtraWorkRequest extraWorkRequest = new ExtraWorkRequest();
+        extraWorkRequest.setStartDateTime(requests.extraWorkStart);
+        extraWorkRequest.setEndDateTime(requests.extraWorkEnd);
+        return population.inRolledBackTransaction(() -> call(() -> population.employeeService.logExtraWorkRequest(empId, extraWorkRequest)));
+    }
+
+    @Benchmark
+    public ValidationResult rejectOutOfOfficeLeave(Population population, Requests requests) {
+        Long empId = requests.nextEmployee(requests.maleEmployeeIds);
+        LeaveRequest leaveRequest = requests.leaveRequest(requests.nextMondayPlusOne);
+        leaveRequest.setStartDate(requests.lastLeaveDate);
+        ValidationResult validationResult = new ValidationResult();
+        population.inRolledBackTransaction(() -> population.outOfOfficeLeaveService.enterNewLeaveRequest(leaveRequest, empId, validationResult));
+        if (validationResult.isValid()) {
+            throw new IllegalStateException("Benchmark request was not rejected");
+        }
+        return validationResult;
+    }
+
+    @Benchmark
+    public LeaveConstraintFailException rejectOutOfOfficeLeaveByException(Population population, Requests requests) {
+        Long empId = requests.nextEmployee(requests.maleEmployeeIds);
+        LeaveRequest leaveRequest = requests.leaveRequest(requests.nextMondayPlusOne);
+        leaveRequest.setStartDate(requests.lastLeaveDate);
+        return population.inRolledBackTransaction(() -> {
+            try {
+                population.outOfOfficeLeaveService.enterNewLeaveRequest(leaveRequest, empId);
+            } catch (LeaveConstraintFailException e) {
+                return e;
+            } catch (ParseException e) {
+                throw new IllegalStateException(e);
+            }
+            throw new IllegalStateException("Benchmark request was not rejected");
+        });
+    }
+
+    private interface ServiceCall<T> {
+        T call() throws Exception;
+    }
+
+    // a rejected request would measure the failure path, so it fails the benchmark instead
+    private static <T> T call(ServiceCall<T> serviceCall) {
+        try {
+            return serviceCall.call();
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark request rejected: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.io.lms.benchmark;
+
+import com.io.lms.model.Leave;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.HolidaysAndNonWorkingDays;
+import com.io.lms.util.LeaveIntervalIndex;
+import com.io.lms.util.LocationCalendar;
+import com.io.lms.util.Utility;
+import org.openjdk.jmh.annotations.*;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.io.lms.constant.Constants.OutOfOffice;
+
+/**
+ * Hot date and calendar functions of {@link Utility}. Ranges start on 25-08-2020 so they cross the built-in
+ * holidays; leave histories are two day leaves three days apart, queried just after the last one, so the
+ * linear scan visits every leave. Run with the GC profiler to see allocation rates:
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="UtilityBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilityBenchmark {
+
+    private static final String LOCATION = "benchmark";
+
+    @State(Scope.Benchmark)
+    public static class DateState {
+        String dateString = "25-08-2020";
+    }
+
+    @State(Scope.Benchmark)
+    public static class RangeState {
+        @Param({"1", "7", "30", "365"})
+        int rangeDays;
+
+        int startEpochDay;
+        int endEpochDay;
+        Date startDate;
+        Date endDate;
+
+        @Setup
+        public void setUp() throws ParseException {
+            startEpochDay = Utility.stringToEpochDay("25-08-2020");
+            endEpochDay = startEpochDay + rangeDays - 1;
+            startDate = EpochDays.toDate(startEpochDay);
+            endDate = EpochDays.toDate(endEpochDay);
+            // same holidays as the default location, with Friday and Saturday off
+            List<Integer> holidays = HolidaysAndNonWorkingDays.getInstance().getHolidaysSet().stream().map(EpochDays::of).collect(Collectors.toList());
+            LocationCalendar.publish(Collections.singletonMap(LOCATION, new LocationCalendar(LOCATION, holidays, Arrays.asList(6, 7))));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class HistoryState {
+        @Param({"1", "10", "100", "1000"})
+        int historySize;
+
+        List<Leave> leaves;
+        LeaveIntervalIndex leaveIntervalIndex;
+        int startEpochDay;
+        int endEpochDay;
+
+        @Setup
+        public void setUp() throws ParseException {
+            int firstLeave = Utility.stringToEpochDay("01-01-2015");
+            leaves = IntStream.range(0, historySize).mapToObj((i) -> {
+                Leave leave = new Leave();
+                leave.setLeaveId((long) i);
+                leave.setLeaveType(OutOfOffice);
+                leave.setLeaveCount(2L);
+                leave.setStartDate(EpochDays.toDate(firstLeave + 3 * i));
+                leave.setEndDate(EpochDays.toDate(firstLeave + 3 * i + 1));
+                return leave;
+            }).collect(Collectors.toCollection(ArrayList::new));
+            leaveIntervalIndex = LeaveIntervalIndex.of(leaves);
+            startEpochDay = firstLeave + 3 * historySize;
+            endEpochDay = startEpochDay + 1;
+        }
+    }
+
+    @Benchmark
+    public Date stringToDate(DateState state) throws ParseException {
+        return Utility.stringToDate(state.dateString);
+    }
+
+    @Benchmark
+    public long getDaysCount(RangeState state) {
+        return Utility.getDaysCount(state.startDate, state.endDate);
+    }
+
+    @Benchmark
+    public Long numOfHolidaysInRange(RangeState state) {
+        return Utility.numOfHolidaysInRange(state.startDate, state.endDate);
+    }
+
+    @Benchmark
+    public long numOfHolidaysInEpochDayRange(RangeState state) {
+        return Utility.numOfHolidaysInRange(state.startEpochDay, state.endEpochDay);
+    }
+
+    @Benchmark
+    public long getTotalWorkingDays(RangeState state) {
+        return Utility.getTotalWorkingDays(state.startEpochDay, state.endEpochDay);
+    }
+
+    @Benchmark
+    public long getTotalWorkingDaysAtLocation(RangeState state) {
+        return Utility.getTotalWorkingDays(LOCATION, state.startEpochDay, state.endEpochDay);
+    }
+
+    @Benchmark
+    public boolean isDateRangeOverlapping(RangeState state) {
+        return Utility.isDateRangeOverlapping(state.startEpochDay, state.endEpochDay, state.endEpochDay, state.endEpochDay + 1);
+    }
+
+    @Benchmark
+    public boolean isLeaveOverlapping(HistoryState state) {
+        return Utility.isLeaveOverlapping(state.startEpochDay, state.endEpochDay, state.leaves);
+    }
+
+    @Benchmark
+    public boolean leaveIntervalIndexOverlaps(HistoryState state) {
+        return state.leaveIntervalIndex.overlaps(state.startEpochDay, state.endEpochDay);
+    }
+}
@@ -6,8 +6,11 @@ public class Constants {
     public static final String MATERNITY = "maternity";
     public static final String PATERNITY = "paternity";
     public static final String OutOfOffice = "ooo";
+    public static final String COMP_OFF = "compoff";
+    public static final int COMP_OFF_VALIDITY_DAYS = 30;
     public static final Integer SUNDAY = 1;
     public static final Integer SATURDAY = 7;
+    public static final String DEFAULT_LOCATION = "default";
     public static final Long MILLI_SEC_PER_HOUR = Long.valueOf(1000 * 60 * 60);
     public static final Long MILLI_SEC_PER_DAY = MILLI_SEC_PER_HOUR * 24;
     public static final String DATE_FORMAT = "dd-MM-yyyy";
@@ -15,4 +18,26 @@ public class Constants {
     public static final Long LEAVE_PER_MONTH = 2L;
     public static final double DAYS_IN_A_YEAR = 365.0;
     public static final Long MIN_WORKING_HOURS_REQUIRED_EXTRA_WORK = 8L;
+    // span of the working day calendar index; lms.calendar.index.years-before/after override them
+    public static final int CALENDAR_INDEX_YEARS_BEFORE = 10;
+    public static final int CALENDAR_INDEX_YEARS_AFTER = 10;
+    public static final Integer MAX_LEAVE_BATCH_SIZE = 1000;
+    public static final int MAX_CONFLICT_ATTEMPTS = 3;
+    public static final int CONFLICT_BACKOFF_MILLIS = 20;
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    // status of an idempotency record whose request is still running (102 Processing)
+    public static final int IDEMPOTENCY_PENDING_STATUS = 102;
+    public static final String SQL_STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String SQL_ROWS_HEADER = "X-SQL-Rows";
+    public static final String SQL_TIME_HEADER = "X-SQL-Time-Millis";
+    public static final String EXTRA_WORK_DATE_EXISTS = "Date already exists, overlapping log days";
+    public static final Integer EMPLOYEE_IMPORT_CHUNK_SIZE = 500;
+    public static final Integer DEFAULT_PAGE_SIZE = 100;
+    public static final Integer MAX_PAGE_SIZE = 1000;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int EXPORT_FETCH_SIZE = 500;
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    public static final String EMAIL_REGEX = "^[^\\s@,]+@[^\\s@,]+\\.[^\\s@,]+$";
 }
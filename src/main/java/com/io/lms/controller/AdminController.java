@@ -0,0 +1,77 @@
+package com.io.lms.controller;
+
+import com.io.lms.service.HolidayCalendarService;
+import com.io.lms.service.LeaveLedgerMaintenanceService;
+import com.io.lms.service.LeaveLedgerService;
+import com.io.lms.util.CustomMessageMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import static com.io.lms.constant.Constants.OutOfOffice;
+
+@RestController
+@Slf4j
+@RequestMapping("/admin")
+public class AdminController {
+
+    @Autowired
+    private LeaveLedgerService leaveLedgerService;
+    @Autowired
+    private LeaveLedgerMaintenanceService leaveLedgerMaintenanceService;
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    @PostMapping("/ledger/rebuild")
+    public ResponseEntity rebuildLeaveLedger() {
+        log.debug("Rebuilding leave ledger of all employees");
+        try {
+            int count = leaveLedgerMaintenanceService.rebuildAll();
+            CustomMessageMap customMessageMap = new CustomMessageMap("Leave ledger rebuilt for employees", String.valueOf(count));
+            return new ResponseEntity(customMessageMap.getMessageMap(), HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("Exception in rebuilding the leave ledger: " + e.toString());
+            CustomMessageMap customMessageMap = new CustomMessageMap("Exception occurred", e.getMessage());
+            return new ResponseEntity(customMessageMap.getMessageMap(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PostMapping("/ledger/rebuild/{empId}")
+    public ResponseEntity rebuildLeaveLedger(@PathVariable Long empId) {
+        try {
+            return new ResponseEntity<>(leaveLedgerService.rebuild(empId, OutOfOffice), HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("Exception in rebuilding the leave ledger of an employee with empId: " + empId + "\nException: " + e.toString());
+            CustomMessageMap customMessageMap = new CustomMessageMap("Exception occurred", e.getMessage());
+            return new ResponseEntity(customMessageMap.getMessageMap(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/ledger/verify")
+    public ResponseEntity verifyLeaveLedger() {
+        log.debug("Verifying leave ledger of all employees");
+        try {
+            return new ResponseEntity<>(leaveLedgerMaintenanceService.verifyAll(), HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("Exception in verifying the leave ledger: " + e.toString());
+            CustomMessageMap customMessageMap = new CustomMessageMap("Exception occurred", e.getMessage());
+            return new ResponseEntity(customMessageMap.getMessageMap(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PostMapping("/holidays/reload")
+    public ResponseEntity reloadHolidays() {
+        log.debug("Reloading holiday calendar");
+        try {
+            int count = holidayCalendarService.reload();
+            CustomMessageMap customMessageMap = new CustomMessageMap("Holiday calendar reloaded with holidays", String.valueOf(count));
+            return new ResponseEntity(customMessageMap.getMessageMap(), HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("Exception in reloading the holiday calendar: " + e.toString());
+            CustomMessageMap customMessageMap = new CustomMessageMap("Exception occurred", e.getMessage());
+            return new ResponseEntity(customMessageMap.getMessageMap(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -1,15 +1,36 @@
 package com.io.lms.controller;
 
 import com.io.lms.dto.EmployeeRegisterRequest;
+import com.io.lms.dto.EmployeeRegisterResponse;
 import com.io.lms.dto.ExtraWorkRequest;
+import com.io.lms.dto.ExtraWorkResponse;
 import com.io.lms.dto.LeaveRequest;
+import com.io.lms.service.EmployeeExportService;
+import com.io.lms.service.EmployeeImportService;
 import com.io.lms.service.EmployeeService;
+import com.io.lms.service.IdempotencyService;
 import com.io.lms.util.CustomMessageMap;
+import com.io.lms.util.ValidationResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.io.lms.constant.Constants.DEFAULT_PAGE_SIZE;
+import static com.io.lms.constant.Constants.EXTRA_WORK_DATE_EXISTS;
+import static com.io.lms.constant.Constants.IDEMPOTENCY_KEY_HEADER;
+import static com.io.lms.constant.Constants.NDJSON_MEDIA_TYPE;
+import static com.io.lms.constant.Constants.NEXT_CURSOR_HEADER;
 
 
 @RestController
@@ -19,6 +40,12 @@ public class EmployeeController {
 
     @Autowired
     private EmployeeService employeeService;
+    @Autowired
+    private EmployeeImportService employeeImportService;
+    @Autowired
+    private EmployeeExportService employeeExportService;
+    @Autowired
+    private IdempotencyService idempotencyService;
 
     @PostMapping("/register")
     public ResponseEntity registerNewEmployee(@RequestBody EmployeeRegisterRequest employeeRegisterRequest) {
@@ -32,9 +59,45 @@ public class EmployeeController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity importEmployees(InputStream csvInputStream) {
+        log.debug("Importing Employees from CSV");
+        try {
+            return new ResponseEntity<>(employeeImportService.importEmployees(new InputStreamReader(csvInputStream, StandardCharsets.UTF_8)), HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("Exception occurred in importing Employees: " + e.toString());
+            CustomMessageMap customMessageMap=new CustomMessageMap("Exception occurred",e.getMessage());
+            return new ResponseEntity(customMessageMap.getMessageMap(),HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping("/all")
-    public ResponseEntity getAllEmployees() {
-        return new ResponseEntity(employeeService.getAllEmployees(), HttpStatus.OK);
+    public ResponseEntity getAllEmployees(@RequestParam(defaultValue = "0") Long afterId,
+                                          @RequestParam(required = false) Integer limit,
+                                          @RequestParam(required = false) String include) {
+        try {
+            int pageSize = (limit == null) ? DEFAULT_PAGE_SIZE : limit;
+            List<EmployeeRegisterResponse> employees = employeeService.getEmployees(afterId, pageSize, "leaves".equalsIgnoreCase(include));
+            HttpHeaders headers = new HttpHeaders();
+            if (employees.size() == pageSize) {
+                headers.add(NEXT_CURSOR_HEADER, String.valueOf(employees.get(employees.size() - 1).getId()));
+            }
+            return new ResponseEntity<>(employees, headers, HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("Exception occurred in getting employees after empId: " + afterId + "\nException: " + e.toString());
+            CustomMessageMap customMessageMap=new CustomMessageMap("Exception occurred",e.getMessage());
+            return new ResponseEntity(customMessageMap.getMessageMap(),HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        log.debug("Exporting Employees as NDJSON");
+        StreamingResponseBody body = outputStream -> {
+            long written = employeeExportService.exportEmployees(outputStream);
+            log.debug("Exported " + written + " Employees");
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE)).body(body);
     }
 
     @GetMapping("/id/{empId}")
@@ -71,14 +134,29 @@ public class EmployeeController {
     }
 
     @PostMapping("/{id}/logextrawork")
-    public ResponseEntity logExtraWorkRequest(@PathVariable Long id, @RequestBody ExtraWorkRequest extraWorkRequest) {
-        try {
-            return new ResponseEntity(employeeService.logExtraWorkRequest(id, extraWorkRequest), HttpStatus.OK);
-        } catch (Exception e) {
-            log.error("Exception in logging extraWork: " + e);
-            CustomMessageMap customMessageMap=new CustomMessageMap("Exception occurred",e.getMessage());
-            return new ResponseEntity(customMessageMap.getMessageMap(),HttpStatus.BAD_REQUEST);
-        }
+    public ResponseEntity logExtraWorkRequest(@PathVariable Long id, @RequestBody ExtraWorkRequest extraWorkRequest,
+                                              @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "/employee/" + id + "/logextrawork", extraWorkRequest, () -> {
+            try {
+                ValidationResult validationResult = new ValidationResult();
+                ExtraWorkResponse extraWorkResponse = employeeService.logExtraWorkRequest(id, extraWorkRequest, validationResult);
+                if (!validationResult.isValid()) {
+                    log.error("Extra work log of an employee with empId: " + id + " rejected: " + validationResult.getMessage());
+                    return RejectedRequests.badRequest(validationResult);
+                }
+                return new ResponseEntity(extraWorkResponse, HttpStatus.OK);
+            } catch (DataIntegrityViolationException e) {
+                // a concurrent log for the same day passed the existence check and committed first
+                log.error("Extra work log of an employee with empId: " + id + " rejected by the unique index: " + e.getMessage());
+                ValidationResult validationResult = new ValidationResult();
+                validationResult.reject(EXTRA_WORK_DATE_EXISTS);
+                return RejectedRequests.badRequest(validationResult);
+            } catch (Exception e) {
+                log.error("Exception in logging extraWork: " + e);
+                CustomMessageMap customMessageMap=new CustomMessageMap("Exception occurred",e.getMessage());
+                return new ResponseEntity(customMessageMap.getMessageMap(),HttpStatus.BAD_REQUEST);
+            }
+        });
     }
 
     @GetMapping("/{id}/compoffbalance")
@@ -1,14 +1,24 @@
 package com.io.lms.controller;
 
 import com.io.lms.dto.LeaveRequest;
+import com.io.lms.dto.LeaveResponse;
+import com.io.lms.service.IdempotencyService;
+import com.io.lms.service.LeaveBatchService;
+import com.io.lms.service.LeaveService;
 import com.io.lms.service.LeaveServicesFactory;
 import com.io.lms.util.CustomMessageMap;
+import com.io.lms.util.OptimisticRetry;
+import com.io.lms.util.ValidationResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
+import static com.io.lms.constant.Constants.IDEMPOTENCY_KEY_HEADER;
+
 @RestController
 @Slf4j
 @RequestMapping
@@ -16,18 +26,43 @@ public class LeaveController {
 
     @Autowired
     private LeaveServicesFactory leaveServicesFactory;
+    @Autowired
+    private LeaveBatchService leaveBatchService;
+    @Autowired
+    private IdempotencyService idempotencyService;
 
 
     @PostMapping("/leave/apply/{empId}")
-    public ResponseEntity enterNewLeaveRequest(@RequestBody LeaveRequest leaveRequest, @PathVariable Long empId) {
+    public ResponseEntity enterNewLeaveRequest(@RequestBody LeaveRequest leaveRequest, @PathVariable Long empId,
+                                               @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "/leave/apply/" + empId, leaveRequest, () -> {
+            try {
+                LeaveService leaveService = leaveServicesFactory.getService(leaveRequest.getLeaveType());
+                // a lost version check comes after validation passed, so a retry starts from an empty result
+                ValidationResult validationResult = new ValidationResult();
+                LeaveResponse leaveResponse = OptimisticRetry.call(() -> leaveService.enterNewLeaveRequest(leaveRequest, empId, validationResult));
+                if (!validationResult.isValid()) {
+                    log.error("Leave request of an employee with empId: " + empId + " rejected: " + validationResult.getMessage());
+                    return RejectedRequests.badRequest(validationResult);
+                }
+                return new ResponseEntity<>(leaveResponse, HttpStatus.OK);
+            } catch (Exception e) {
+                log.error("Exception in applying leave of an employee with empId: " + empId + "\nException: " + e.toString());
+                CustomMessageMap customMessageMap=new CustomMessageMap("Exception occurred",e.getMessage());
+                return new ResponseEntity(customMessageMap.getMessageMap(),HttpStatus.BAD_REQUEST);
+            }
+        });
+    }
+
+    @PostMapping("/leave/apply/batch")
+    public ResponseEntity enterNewLeaveRequests(@RequestBody List<LeaveRequest> leaveRequests) {
         try {
-            return new ResponseEntity<>(leaveServicesFactory.getService(leaveRequest.getLeaveType().trim().toLowerCase()).enterNewLeaveRequest(leaveRequest, empId), HttpStatus.OK);
+            return new ResponseEntity<>(OptimisticRetry.call(() -> leaveBatchService.enterNewLeaveRequests(leaveRequests)), HttpStatus.OK);
         } catch (Exception e) {
-            log.error("Exception in applying leave of an employee with empId: " + empId + "\nException: " + e.toString());
+            log.error("Exception in applying a batch of " + leaveRequests.size() + " leaves\nException: " + e.toString());
             CustomMessageMap customMessageMap=new CustomMessageMap("Exception occurred",e.getMessage());
             return new ResponseEntity(customMessageMap.getMessageMap(),HttpStatus.BAD_REQUEST);
         }
-
     }
 
     @GetMapping("/employee/{id}/leavebalance")
@@ -0,0 +1,20 @@
+package com.io.lms.controller;
+
+import com.io.lms.util.CustomMessageMap;
+import com.io.lms.util.ValidationResult;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * The response for a request the services rejected, in the same shape as the exception responses.
+ */
+final class RejectedRequests {
+
+    private RejectedRequests() {
+    }
+
+    static ResponseEntity badRequest(ValidationResult validationResult) {
+        CustomMessageMap customMessageMap = new CustomMessageMap("Exception occurred", validationResult.getMessage());
+        return new ResponseEntity(customMessageMap.getMessageMap(), HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,145 @@
+package com.io.lms.controller;
+
+import com.io.lms.util.SqlStatementStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import static com.io.lms.constant.Constants.SQL_ROWS_HEADER;
+import static com.io.lms.constant.Constants.SQL_STATEMENTS_HEADER;
+import static com.io.lms.constant.Constants.SQL_TIME_HEADER;
+
+/**
+ * Counts the SQL statements, rows and JDBC time of every request and records them per endpoint under
+ * {@code lms.jdbc.*}. In diagnostics mode the counts are also sent back as response headers; they are added
+ * when the response starts, so they cover the work done up to then. Work done on another thread, such as a
+ * streamed export, is not counted.
+ */
+@Component
+@Slf4j
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean diagnosticHeaders;
+
+    public SqlStatementFilter(MeterRegistry meterRegistry, @Value("${lms.sql-diagnostics.headers:false}") boolean diagnosticHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.diagnosticHeaders = diagnosticHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats sqlStatementStats = SqlStatementStats.begin();
+        try {
+            if (diagnosticHeaders) {
+                StatsHeaderResponse statsHeaderResponse = new StatsHeaderResponse(response, sqlStatementStats);
+                filterChain.doFilter(request, statsHeaderResponse);
+                statsHeaderResponse.addStatsHeaders();
+            } else {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            sqlStatementStats.end();
+            record(request, sqlStatementStats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats sqlStatementStats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = (pattern == null) ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+        DistributionSummary.builder("lms.jdbc.statements")
+                .description("SQL statements executed by one request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(sqlStatementStats.getStatements());
+        DistributionSummary.builder("lms.jdbc.rows")
+                .description("Rows read from result sets by one request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(sqlStatementStats.getRows());
+        Timer.builder("lms.jdbc.time")
+                .description("Time one request spent executing SQL statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(sqlStatementStats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds the counts as headers just before the first byte of the response goes out.
+     */
+    private static class StatsHeaderResponse extends HttpServletResponseWrapper {
+        private final SqlStatementStats sqlStatementStats;
+        private boolean headersAdded;
+
+        StatsHeaderResponse(HttpServletResponse response, SqlStatementStats sqlStatementStats) {
+            super(response);
+            this.sqlStatementStats = sqlStatementStats;
+        }
+
+        void addStatsHeaders() {
+            if (headersAdded || isCommitted()) {
+                return;
+            }
+            headersAdded = true;
+            setHeader(SQL_STATEMENTS_HEADER, Long.toString(sqlStatementStats.getStatements()));
+            setHeader(SQL_ROWS_HEADER, Long.toString(sqlStatementStats.getRows()));
+            setHeader(SQL_TIME_HEADER, Long.toString(TimeUnit.NANOSECONDS.toMillis(sqlStatementStats.getJdbcNanos())));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addStatsHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addStatsHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addStatsHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addStatsHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addStatsHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addStatsHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
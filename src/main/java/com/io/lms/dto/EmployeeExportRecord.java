@@ -0,0 +1,20 @@
+package com.io.lms.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class EmployeeExportRecord {
+    private Long id;
+    private String name;
+    private String email;
+    private Date dateOfJoining;
+    private String gender;
+    private String location;
+    private List<LeaveResponse> leaves = new ArrayList<>();
+}
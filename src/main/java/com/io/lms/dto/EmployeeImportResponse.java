@@ -0,0 +1,15 @@
+package com.io.lms.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class EmployeeImportResponse {
+    private Long rowsRead = 0L;
+    private Long imported = 0L;
+    private List<EmployeeImportRowError> rejectedRows = new ArrayList<>();
+}
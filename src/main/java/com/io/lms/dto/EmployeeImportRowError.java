@@ -0,0 +1,13 @@
+package com.io.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportRowError {
+    private Long lineNumber;
+    private String message;
+}
@@ -9,5 +9,6 @@ public class EmployeeRegisterRequest {
     private String name;
     private String email;
     private String gender;
+    private String location;
 
 }
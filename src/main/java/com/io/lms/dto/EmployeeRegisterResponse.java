@@ -14,6 +14,7 @@ public class EmployeeRegisterResponse {
     private String email;
     private Date dateOfJoining;
     private String gender;
+    private String location;
     private List<Leave> leaves;
 
 }
@@ -0,0 +1,16 @@
+package com.io.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBatchItemResponse {
+    private Integer index;
+    private Long empId;
+    private boolean accepted;
+    private LeaveResponse leave;
+    private String error;
+}
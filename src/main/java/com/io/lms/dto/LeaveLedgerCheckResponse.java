@@ -0,0 +1,16 @@
+package com.io.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveLedgerCheckResponse {
+    private Long empId;
+    private String leaveType;
+    private Integer year;
+    private Long ledgerRemaining;
+    private Long expectedRemaining;
+}
@@ -2,6 +2,7 @@ package com.io.lms.exception;
 
 public class ExtraWorkDateTimeEligibilityException extends RuntimeException{
     public ExtraWorkDateTimeEligibilityException(String msg){
-        super(msg);
+        // a rejected request, not a fault: callers only use the message, so skip capturing the stack trace
+        super(msg, null, false, false);
     }
 }
@@ -0,0 +1,38 @@
+package com.io.lms.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.util.Date;
+
+/**
+ * One comp-off day earned by logging extra work. It can be redeemed until {@code expiresOn}, oldest first;
+ * {@code remaining} drops to 0 once it is redeemed or expired, and the credit is then closed. Every lookup
+ * filters on {@code closed = false}, so it only walks the open credits of an employee, however long their
+ * history.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_comp_off_credit_employee_open_expiry", columnList = "employeeId, closed, expiresOn"))
+@Data
+@NoArgsConstructor
+public class CompOffCredit {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comp_off_credit_seq")
+    @SequenceGenerator(name = "comp_off_credit_seq", sequenceName = "comp_off_credit_seq", allocationSize = 50)
+    private Long creditId;
+    @NotNull
+    private Long employeeId;
+    @NotNull
+    private Date earnedOn;
+    @NotNull
+    private Date expiresOn;
+    @NotNull
+    private Long remaining;
+    @NotNull
+    private Boolean expired;
+    // remaining is 0, whether the credit was spent or expired
+    @Column(nullable = false, columnDefinition = "boolean default false not null")
+    private Boolean closed = false;
+}
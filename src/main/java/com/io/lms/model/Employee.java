@@ -3,6 +3,7 @@ package com.io.lms.model;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -14,7 +15,8 @@ import java.util.List;
 @NoArgsConstructor
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
     @Column
     @NotBlank
@@ -26,8 +28,19 @@ public class Employee {
     private Gender gender;
     @Column
     private Date joiningDate;
+    // code of the WorkLocation whose holiday calendar applies; null means the default location
+    @Column
+    private String location;
+    // bumped by every leave write, see EmployeeService#incrementVersion
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long version;
+    // comp-off days earned and neither redeemed nor expired, kept by CompOffLedgerService
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long compOffBalance = 0L;
 
     @OneToMany(mappedBy = "employee")
+    @BatchSize(size = 100)
     @JsonManagedReference
     private List<Leave> leaves;
 
@@ -9,13 +9,16 @@ import javax.validation.constraints.NotNull;
 import java.util.Date;
 
 @Entity
+// an employee logs extra work at most once a day
+@Table(indexes = @Index(name = "uk_extra_work_employee_date", columnList = "employee_id, date", unique = true))
 @Data
 @NoArgsConstructor
 public class ExtraWork {
     @NotNull
     Date date;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "extra_work_seq")
+    @SequenceGenerator(name = "extra_work_seq", sequenceName = "extra_work_seq", allocationSize = 50)
     private Long extraWorkId;
     @ManyToOne
     @JoinColumn(name = "employee_id")
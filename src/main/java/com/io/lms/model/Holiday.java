@@ -0,0 +1,32 @@
+package com.io.lms.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.util.Date;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_holiday_location_date", columnNames = {"location", "holidayDate"}))
+@Data
+@NoArgsConstructor
+public class Holiday {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "holiday_seq")
+    @SequenceGenerator(name = "holiday_seq", sequenceName = "holiday_seq", allocationSize = 50)
+    private Long holidayId;
+    @Column(nullable = false)
+    private String location;
+    @NotNull
+    private Date holidayDate;
+    @Column
+    private String name;
+
+    public Holiday(String location, Date holidayDate, String name) {
+        this.location = location;
+        this.holidayDate = holidayDate;
+        this.name = name;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.io.lms.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.util.Date;
+
+/**
+ * Stored response of a request sent with an {@code Idempotency-Key} header, replayed when the client
+ * retries with the same key. Inserted as a pending claim before the request runs, with
+ * {@link com.io.lms.constant.Constants#IDEMPOTENCY_PENDING_STATUS} as its status and no body.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_idempotency_record_created_at", columnList = "createdAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    @Id
+    private String idempotencyKey;
+    // digest of the path and body the key was first used with
+    @Column(nullable = false)
+    private String requestHash;
+    // IDEMPOTENCY_PENDING_STATUS until the request completed
+    @Column(nullable = false)
+    private Integer statusCode;
+    @Column(columnDefinition = "text")
+    private String responseBody;
+    // when the key was claimed; also tells a claim apart from a later one on the same key
+    @NotNull
+    private Date createdAt;
+
+}
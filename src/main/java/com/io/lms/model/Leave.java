@@ -1,6 +1,7 @@
 package com.io.lms.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.io.lms.service.LeaveIntervalIndexListener;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -10,6 +11,11 @@ import javax.validation.constraints.NotNull;
 import java.util.Date;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_leave_employee_start_end", columnList = "employee_id, startDate, endDate"),
+        @Index(name = "idx_leave_employee_type", columnList = "employee_id, leaveType, leaveCount")
+})
+@EntityListeners(LeaveIntervalIndexListener.class)
 @Data
 @NoArgsConstructor
 public class Leave {
@@ -23,7 +29,8 @@ public class Leave {
     @NotNull
     Long leaveCount;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_seq")
+    @SequenceGenerator(name = "leave_seq", sequenceName = "leave_seq", allocationSize = 50)
     private Long leaveId;
     @ManyToOne
     @JoinColumn(name = "employee_id")
@@ -0,0 +1,28 @@
+package com.io.lms.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Leave balance of one employee for one leave type and year. {@code remaining} carries forward:
+ * it is the previous year's remaining plus {@code accrued} minus {@code taken}.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveLedgerEntry {
+    @EmbeddedId
+    private LeaveLedgerEntryId id;
+    @NotNull
+    private Long accrued;
+    @NotNull
+    private Long taken;
+    @NotNull
+    private Long remaining;
+}
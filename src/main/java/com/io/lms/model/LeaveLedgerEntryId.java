@@ -0,0 +1,22 @@
+package com.io.lms.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveLedgerEntryId implements Serializable {
+    @Column(name = "employee_id")
+    private Long employeeId;
+    @Column(name = "leave_type")
+    private String leaveType;
+    @Column(name = "ledger_year")
+    private Integer year;
+}
@@ -0,0 +1,24 @@
+package com.io.lms.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkLocation {
+    @Id
+    private String code;
+    @Column
+    private String name;
+    // comma separated days of week, numbered as java.util.Calendar#DAY_OF_WEEK: Sunday is 1 and Saturday is 7
+    @Column(nullable = false)
+    private String nonWorkingDays;
+
+}
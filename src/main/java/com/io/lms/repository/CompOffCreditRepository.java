@@ -0,0 +1,44 @@
+package com.io.lms.repository;
+
+import com.io.lms.model.CompOffCredit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface CompOffCreditRepository extends JpaRepository<CompOffCredit, Long> {
+    List<CompOffCredit> findAllByEmployeeIdAndClosedFalseOrderByExpiresOnAscCreditIdAsc(Long empId);
+
+    List<CompOffCredit> findAllByClosedFalse();
+
+    void deleteAllByEmployeeId(Long empId);
+
+    /**
+     * Days still held by credits of the employee that expired before {@code date} but have not been expired yet.
+     */
+    @Query("select coalesce(sum(c.remaining), 0) from CompOffCredit c where c.employeeId = :empId and c.closed = false and c.expiresOn < :date")
+    Long sumRemainingExpiredBefore(@Param("empId") Long empId, @Param("date") Date date);
+
+    /**
+     * Spends {@code days} of the credit if it still holds {@code remaining}, closing it when none are left;
+     * returns 0 when another transaction spent or expired it since it was read.
+     */
+    @Modifying
+    @Query("update CompOffCredit c set c.remaining = c.remaining - :days, c.closed = case when c.remaining = :days then true else false end "
+            + "where c.creditId = :creditId and c.remaining = :remaining")
+    int spend(@Param("creditId") Long creditId, @Param("remaining") Long remaining, @Param("days") Long days);
+
+    /**
+     * Expires the credit if it still holds {@code remaining} days; returns 0 when another transaction spent or
+     * expired it since it was read.
+     */
+    @Modifying
+    @Query("update CompOffCredit c set c.remaining = 0, c.expired = true, c.closed = true "
+            + "where c.creditId = :creditId and c.remaining = :remaining and c.remaining > 0")
+    int expire(@Param("creditId") Long creditId, @Param("remaining") Long remaining);
+}
@@ -1,9 +1,58 @@
 package com.io.lms.repository;
 
 import com.io.lms.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.io.lms.constant.Constants.EXPORT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
 public interface EmployeeRepository extends JpaRepository <Employee,Long>{
+    /**
+     * Moves the employee's version from {@code version} to the next one; returns 0 when the stored version
+     * is no longer {@code version} because another transaction wrote for the employee in between.
+     */
+    @Modifying
+    @Query("update Employee e set e.version = e.version + 1 where e.id = :id and e.version = :version")
+    int incrementVersion(@Param("id") Long id, @Param("version") Long version);
+
+    /**
+     * Adds {@code days} to the comp-off balance in place, without reading the employee or moving its version;
+     * an employee already loaded in the persistence context keeps the balance it was read with.
+     */
+    @Modifying
+    @Query("update Employee e set e.compOffBalance = e.compOffBalance + :days where e.id = :id")
+    int addCompOffBalance(@Param("id") Long id, @Param("days") Long days);
+
+    /**
+     * The location of the employee without loading it: empty when the employee does not exist, and a single
+     * {@code null} when the employee has no location of its own.
+     */
+    @Query("select e.location from Employee e where e.id = :id")
+    List<String> findLocationById(@Param("id") Long id);
+
+    @Query("select e.id from Employee e order by e.id")
+    List<Long> findAllIds();
+
+    List<Employee> findAllByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Every employee joined with each of its leaves (or with {@code null} when it has none), ordered by
+     * employee so the rows of one employee are adjacent. Read through a JDBC cursor in chunks of
+     * {@link com.io.lms.constant.Constants#EXPORT_FETCH_SIZE}; must be consumed inside a transaction.
+     */
+    @Query("select e, l from Employee e left join e.leaves l order by e.id, l.startDate")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE), @QueryHint(name = HINT_READONLY, value = "true")})
+    Stream<Object[]> streamAllWithLeaves();
 }
@@ -0,0 +1,59 @@
+package com.io.lms.repository;
+
+import com.io.lms.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Date cutoff);
+
+    /**
+     * Inserts a pending record for the key; fails with a unique key violation when the key is already taken.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into idempotency_record (idempotency_key, request_hash, status_code, created_at) "
+            + "values (:key, :requestHash, :pendingStatus, :claimedAt)", nativeQuery = true)
+    int insertPending(@Param("key") String key, @Param("requestHash") String requestHash,
+                      @Param("pendingStatus") Integer pendingStatus, @Param("claimedAt") Date claimedAt);
+
+    /**
+     * Claims a key whose record expired, or whose pending claim was made before {@code staleBefore} by an attempt
+     * that never finished; returns 0 when the key is still taken.
+     */
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.requestHash = :requestHash, r.statusCode = :pendingStatus, r.responseBody = null, "
+            + "r.createdAt = :claimedAt where r.idempotencyKey = :key "
+            + "and ((r.statusCode = :pendingStatus and r.createdAt < :staleBefore) or r.createdAt < :expiredBefore)")
+    int takeOver(@Param("key") String key, @Param("requestHash") String requestHash, @Param("pendingStatus") Integer pendingStatus,
+                 @Param("claimedAt") Date claimedAt, @Param("staleBefore") Date staleBefore, @Param("expiredBefore") Date expiredBefore);
+
+    /**
+     * Stores the response on the claim made at {@code claimedAt}; returns 0 when the claim was lost meanwhile.
+     */
+    @Transactional
+    @Modifying
+    @Query("update IdempotencyRecord r set r.statusCode = :statusCode, r.responseBody = :responseBody "
+            + "where r.idempotencyKey = :key and r.statusCode = :pendingStatus and r.createdAt = :claimedAt")
+    int complete(@Param("key") String key, @Param("pendingStatus") Integer pendingStatus, @Param("claimedAt") Date claimedAt,
+                 @Param("statusCode") Integer statusCode, @Param("responseBody") String responseBody);
+
+    /**
+     * Gives up the claim made at {@code claimedAt}, so the key can be used again.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key and r.statusCode = :pendingStatus and r.createdAt = :claimedAt")
+    int release(@Param("key") String key, @Param("pendingStatus") Integer pendingStatus, @Param("claimedAt") Date claimedAt);
+}
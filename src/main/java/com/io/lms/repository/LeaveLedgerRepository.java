@@ -0,0 +1,30 @@
+package com.io.lms.repository;
+
+import com.io.lms.model.LeaveLedgerEntry;
+import com.io.lms.model.LeaveLedgerEntryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LeaveLedgerRepository extends JpaRepository<LeaveLedgerEntry, LeaveLedgerEntryId> {
+    List<LeaveLedgerEntry> findAllByIdEmployeeIdAndIdLeaveTypeOrderByIdYear(Long empId, String leaveType);
+
+    List<LeaveLedgerEntry> findAllByIdEmployeeIdAndIdLeaveTypeAndIdYearGreaterThanEqualOrderByIdYear(Long empId, String leaveType, Integer year);
+
+    LeaveLedgerEntry findFirstByIdEmployeeIdAndIdLeaveTypeOrderByIdYearDesc(Long empId, String leaveType);
+
+    /**
+     * Inserts the entry unless the year is already open; returns 0 when another transaction opened it first,
+     * without failing the current transaction.
+     */
+    @Modifying
+    @Query(value = "insert into leave_ledger_entry (employee_id, leave_type, ledger_year, accrued, taken, remaining) "
+            + "values (:empId, :leaveType, :year, :accrued, :taken, :remaining) on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(@Param("empId") Long empId, @Param("leaveType") String leaveType, @Param("year") Integer year,
+                       @Param("accrued") Long accrued, @Param("taken") Long taken, @Param("remaining") Long remaining);
+}
@@ -2,10 +2,33 @@ package com.io.lms.repository;
 
 import com.io.lms.model.Leave;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
+import java.util.Date;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
 public interface LeaveRepository extends JpaRepository<Leave, Long> {
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
     List<Leave> findAllByEmployeeId(Long empId);
+
+    long countByEmployeeIdAndLeaveType(Long empId, String leaveType);
+
+    @Query("select coalesce(sum(l.leaveCount), 0) from Leave l where l.employee.id = :empId and l.leaveType = :leaveType")
+    Long sumLeaveCountByEmployeeIdAndLeaveType(@Param("empId") Long empId, @Param("leaveType") String leaveType);
+
+    /**
+     * Leaves of the employee that overlap {@code [startDate, endDate]}, ordered by start date.
+     * Served by the {@code (employee_id, start_date, end_date)} index on the leave table and returned
+     * as read-only {@link LeaveSpan} projections, so no managed entity is loaded.
+     */
+    @Query("select l.leaveId as leaveId, l.leaveType as leaveType, l.startDate as startDate, l.endDate as endDate"
+            + " from Leave l where l.employee.id = :empId and l.startDate <= :endDate and l.endDate >= :startDate order by l.startDate")
+    List<LeaveSpan> findOverlapping(@Param("empId") Long empId, @Param("startDate") Date startDate, @Param("endDate") Date endDate);
 }
@@ -0,0 +1,16 @@
+package com.io.lms.repository;
+
+import java.util.Date;
+
+/**
+ * Read-only projection of the columns of a {@link com.io.lms.model.Leave} needed to report it.
+ */
+public interface LeaveSpan {
+    Long getLeaveId();
+
+    String getLeaveType();
+
+    Date getStartDate();
+
+    Date getEndDate();
+}
@@ -0,0 +1,9 @@
+package com.io.lms.repository;
+
+import com.io.lms.model.WorkLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WorkLocationRepository extends JpaRepository<WorkLocation, String> {
+}
@@ -0,0 +1,294 @@
+package com.io.lms.service;
+
+import com.io.lms.exception.LeaveConstraintFailException;
+import com.io.lms.model.CompOffCredit;
+import com.io.lms.model.Employee;
+import com.io.lms.model.ExtraWork;
+import com.io.lms.model.Leave;
+import com.io.lms.repository.CompOffCreditRepository;
+import com.io.lms.repository.EmployeeRepository;
+import com.io.lms.repository.ExtraWorkRepository;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.EpochDays;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.io.lms.constant.Constants.COMP_OFF;
+import static com.io.lms.constant.Constants.COMP_OFF_VALIDITY_DAYS;
+
+/**
+ * Comp-off credit ledger. Every extra-work day earns a {@link CompOffCredit} that can be redeemed as comp-off
+ * leave for {@value com.io.lms.constant.Constants#COMP_OFF_VALIDITY_DAYS} days; redemption spends the credits
+ * that expire first. The employee row carries the balance, so reading it is a primary key lookup. Credits
+ * still outstanding sit in a min-heap ordered by expiry, and the scheduled sweep pops only the ones whose
+ * date has passed instead of scanning the credit history. Credits, redemptions and expiries move the balance
+ * with an in-place update, so they neither lose each other's changes nor move the employee version that a
+ * leave apply has already bumped. A credit is only spent or expired while it still holds the days it was read
+ * with, and the balance moves only when that update hit the row, so a redemption and a sweep, or the sweeps
+ * of several instances that each hold every credit in their heap, never take the same days twice.
+ */
+@Service
+@Transactional
+@Slf4j
+public class CompOffLedgerService {
+
+    @Autowired
+    CompOffCreditRepository compOffCreditRepository;
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    ExtraWorkRepository extraWorkRepository;
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    EmployeeService employeeService;
+    // outstanding credits by expiry; a credit redeemed or deleted since it was pushed is skipped when popped
+    private final PriorityQueue<Expiry> expiries = new PriorityQueue<>(
+            Comparator.comparingInt((Expiry expiry) -> expiry.expiresOn).thenComparingLong(expiry -> expiry.creditId));
+
+    private static final class Expiry {
+        final int expiresOn;
+        final long creditId;
+
+        Expiry(int expiresOn, long creditId) {
+            this.expiresOn = expiresOn;
+            this.creditId = creditId;
+        }
+    }
+
+    @PostConstruct
+    public void loadExpiries() {
+        log.debug("Inside loadExpiries() of CompOffLedgerService class");
+        List<CompOffCredit> credits = compOffCreditRepository.findAllByClosedFalse();
+        synchronized (expiries) {
+            for (CompOffCredit credit : credits) {
+                expiries.add(new Expiry(EpochDays.of(credit.getExpiresOn()), credit.getCreditId()));
+            }
+        }
+        log.info("Loaded " + credits.size() + " outstanding comp-off credits");
+    }
+
+    /**
+     * The comp-off days the employee can redeem today, leaving out credits that expired but were not swept yet.
+     */
+    public Long getBalance(Long empId) {
+        log.debug("Inside getBalance() of CompOffLedgerService class");
+        Long balance = employeeService.findEmployeeById(empId).getCompOffBalance();
+        return balance - compOffCreditRepository.sumRemainingExpiredBefore(empId, EpochDays.toDate(EpochDays.today()));
+    }
+
+    /**
+     * Credits one comp-off day for extra work done on {@code earnedDate}, unless it has already expired.
+     */
+    public CompOffCredit credit(Long empId, int earnedDate) {
+        log.debug("Inside credit() of CompOffLedgerService class");
+        int expiresOn = earnedDate + COMP_OFF_VALIDITY_DAYS;
+        if (expiresOn < EpochDays.today()) {
+            log.info("Extra work of employee " + empId + " on " + EpochDays.format(earnedDate) + " is too old to earn comp-off");
+            return null;
+        }
+        employeeService.findEmployeeById(empId);
+        CompOffCredit credit = compOffCreditRepository.save(newCredit(empId, earnedDate, 1L));
+        employeeRepository.addCompOffBalance(empId, 1L);
+        pushAfterCommit(credit);
+        return credit;
+    }
+
+    /**
+     * Spends {@code days} comp-off days, taking the credits that expire first. Credits whose expiry passed
+     * before the sweep reached them are expired on the way instead of being spent. A credit changed by another
+     * transaction since it was read fails the redemption with an optimistic locking failure, so the caller can
+     * retry it.
+     */
+    public void redeem(Long empId, long days) {
+        log.debug("Inside redeem() of CompOffLedgerService class");
+        int today = EpochDays.today();
+        long left = days;
+        long released = 0L;
+        for (CompOffCredit credit : compOffCreditRepository.findAllByEmployeeIdAndClosedFalseOrderByExpiresOnAscCreditIdAsc(empId)) {
+            if (left == 0L) {
+                break;
+            }
+            if (EpochDays.of(credit.getExpiresOn()) < today) {
+                if (compOffCreditRepository.expire(credit.getCreditId(), credit.getRemaining()) == 0) {
+                    throw new ObjectOptimisticLockingFailureException(CompOffCredit.class, credit.getCreditId());
+                }
+                released += credit.getRemaining();
+                continue;
+            }
+            long spent = Math.min(left, credit.getRemaining());
+            if (compOffCreditRepository.spend(credit.getCreditId(), credit.getRemaining(), spent) == 0) {
+                throw new ObjectOptimisticLockingFailureException(CompOffCredit.class, credit.getCreditId());
+            }
+            left -= spent;
+        }
+        if (left > 0L) {
+            throw new LeaveConstraintFailException("Comp-off balance is lesser than the " + days + " days demanded");
+        }
+        employeeRepository.addCompOffBalance(empId, -(days + released));
+    }
+
+    @Scheduled(fixedDelayString = "${lms.comp-off.sweep-interval-ms:3600000}")
+    public int expireDue() {
+        return expireDue(EpochDays.today());
+    }
+
+    /**
+     * Expires the outstanding credits that expired before {@code today}, popping them off the heap.
+     *
+     * @return the number of credits expired
+     */
+    public int expireDue(int today) {
+        log.debug("Inside expireDue() of CompOffLedgerService class");
+        List<Expiry> due = new ArrayList<>();
+        synchronized (expiries) {
+            while (!expiries.isEmpty() && expiries.peek().expiresOn < today) {
+                due.add(expiries.poll());
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+        // a rolled back sweep leaves the credits outstanding, so they go back on the heap
+        requeueOnRollback(due);
+        List<Long> creditIds = new ArrayList<>();
+        for (Expiry expiry : due) {
+            creditIds.add(expiry.creditId);
+        }
+        int expired = 0;
+        for (CompOffCredit credit : compOffCreditRepository.findAllById(creditIds)) {
+            if (credit.getRemaining() == 0L) {
+                continue;
+            }
+            if (compOffCreditRepository.expire(credit.getCreditId(), credit.getRemaining()) == 0) {
+                // spent or expired elsewhere since it was read; the next sweep looks at it again
+                pushAfterCommit(credit);
+                continue;
+            }
+            employeeRepository.addCompOffBalance(credit.getEmployeeId(), -credit.getRemaining());
+            expired++;
+        }
+        if (expired > 0) {
+            log.info("Expired " + expired + " comp-off credits");
+        }
+        return expired;
+    }
+
+    /**
+     * Recreates the outstanding credits and the balance of the employee by replaying the extra-work history
+     * and the comp-off leaves in date order, spending credits the way {@link #redeem(Long, long)} does.
+     */
+    public Long rebuild(Long empId) {
+        log.debug("Inside rebuild() of CompOffLedgerService class");
+        Employee employee = employeeService.findEmployeeById(empId);
+        List<int[]> events = new ArrayList<>();
+        for (ExtraWork extraWork : extraWorkRepository.findAllByEmployeeId(empId)) {
+            events.add(new int[]{EpochDays.of(extraWork.getDate()), 0, 1});
+        }
+        for (Leave leave : leaveRepository.findAllByEmployeeId(empId)) {
+            if (COMP_OFF.equals(leave.getLeaveType())) {
+                events.add(new int[]{EpochDays.of(leave.getStartDate()), 1, leave.getLeaveCount().intValue()});
+            }
+        }
+        // by date, and credits earned on a day before the leaves starting on it
+        events.sort(Comparator.comparingInt((int[] event) -> event[0]).thenComparingInt(event -> event[1]));
+        // [earned date, remaining] in expiry order
+        Deque<int[]> outstanding = new ArrayDeque<>();
+        for (int[] event : events) {
+            dropExpired(outstanding, event[0]);
+            if (event[1] == 0) {
+                outstanding.addLast(new int[]{event[0], event[2]});
+                continue;
+            }
+            int left = event[2];
+            while (left > 0 && !outstanding.isEmpty()) {
+                int[] credit = outstanding.peekFirst();
+                int spent = Math.min(left, credit[1]);
+                credit[1] -= spent;
+                left -= spent;
+                if (credit[1] == 0) {
+                    outstanding.pollFirst();
+                }
+            }
+        }
+        dropExpired(outstanding, EpochDays.today());
+
+        compOffCreditRepository.deleteAllByEmployeeId(empId);
+        long balance = 0L;
+        for (int[] credit : outstanding) {
+            pushAfterCommit(compOffCreditRepository.save(newCredit(empId, credit[0], (long) credit[1])));
+            balance += credit[1];
+        }
+        employee.setCompOffBalance(balance);
+        return balance;
+    }
+
+    private static void dropExpired(Deque<int[]> outstanding, int date) {
+        while (!outstanding.isEmpty() && outstanding.peekFirst()[0] + COMP_OFF_VALIDITY_DAYS < date) {
+            outstanding.pollFirst();
+        }
+    }
+
+    private static CompOffCredit newCredit(Long empId, int earnedDate, Long days) {
+        CompOffCredit credit = new CompOffCredit();
+        credit.setEmployeeId(empId);
+        credit.setEarnedOn(EpochDays.toDate(earnedDate));
+        credit.setExpiresOn(EpochDays.toDate(earnedDate + COMP_OFF_VALIDITY_DAYS));
+        credit.setRemaining(days);
+        credit.setExpired(false);
+        credit.setClosed(days == 0L);
+        return credit;
+    }
+
+    private void pushAfterCommit(CompOffCredit credit) {
+        pushAfterCommit(new Expiry(EpochDays.of(credit.getExpiresOn()), credit.getCreditId()));
+    }
+
+    private void pushAfterCommit(Expiry expiry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            push(expiry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                push(expiry);
+            }
+        });
+    }
+
+    private void requeueOnRollback(List<Expiry> due) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                    due.forEach(CompOffLedgerService.this::push);
+                }
+            }
+        });
+    }
+
+    private void push(Expiry expiry) {
+        synchronized (expiries) {
+            expiries.add(expiry);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.io.lms.service;
+
+import com.io.lms.model.Employee;
+import com.io.lms.model.Leave;
+import com.io.lms.util.LeaveIntervalIndex;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Everything one leave request needs to know about the employee, loaded once by
+ * {@link EmployeeService#loadEmployeeContext(Long)} and passed through the {@link LeaveService} methods.
+ * Balances and per-type counts are memoized on first use, so validation and mapping share one lookup.
+ * Not thread-safe; a context lives for a single request.
+ */
+@Getter
+public class EmployeeContext {
+
+    private final Employee employee;
+    private LeaveIntervalIndex leaveIntervalIndex;
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<String, Long> leaveBalances = new HashMap<>();
+    @Getter(lombok.AccessLevel.NONE)
+    private final Map<String, Long> leaveCounts = new HashMap<>();
+
+    public EmployeeContext(Employee employee, LeaveIntervalIndex leaveIntervalIndex) {
+        this.employee = employee;
+        this.leaveIntervalIndex = leaveIntervalIndex;
+    }
+
+    public Long getEmpId() {
+        return employee.getId();
+    }
+
+    public Long getLeaveBalance(String leaveType, Function<String, Long> loader) {
+        return leaveBalances.computeIfAbsent(leaveType, loader);
+    }
+
+    public Long getLeaveCount(String leaveType, Function<String, Long> loader) {
+        return leaveCounts.computeIfAbsent(leaveType, loader);
+    }
+
+    /**
+     * Accounts for a leave accepted but not yet saved, so later requests of the same batch see it.
+     */
+    public void leaveAccepted(Leave leave) {
+        leaveIntervalIndex = leaveIntervalIndex.withLeave(leave);
+        leaveBalances.computeIfPresent(leave.getLeaveType(), (leaveType, leaveBalance) -> leaveBalance - leave.getLeaveCount());
+        leaveCounts.computeIfPresent(leave.getLeaveType(), (leaveType, leaveCount) -> leaveCount + 1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.io.lms.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.io.lms.dto.EmployeeExportRecord;
+import com.io.lms.model.Employee;
+import com.io.lms.model.Leave;
+import com.io.lms.repository.EmployeeRepository;
+import com.io.lms.util.Utility;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every employee, with its leaves, as newline-delimited JSON: one {@link EmployeeExportRecord} per line.
+ * Rows are pulled from a JDBC cursor and each entity is detached once written, so memory holds a single
+ * employee whatever the size of the table, and the first line reaches the client before the query is drained.
+ */
+@Service
+@Slf4j
+public class EmployeeExportService {
+
+    private static final int FLUSH_EVERY_RECORDS = 100;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @PersistenceContext
+    EntityManager entityManager;
+    private final ObjectWriter objectWriter;
+
+    public EmployeeExportService(ObjectMapper objectMapper) {
+        // the caller owns the output stream; the writer must not close it after each record
+        this.objectWriter = objectMapper.writerFor(EmployeeExportRecord.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * @return the number of employees written
+     */
+    @Transactional(readOnly = true)
+    public long exportEmployees(OutputStream outputStream) throws IOException {
+        log.debug("Inside exportEmployees() of EmployeeExportService class");
+        long written = 0L;
+        EmployeeExportRecord employeeExportRecord = null;
+        try (Stream<Object[]> rows = employeeRepository.streamAllWithLeaves()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                Employee employee = (Employee) row[0];
+                Leave leave = (Leave) row[1];
+                if (employeeExportRecord == null || !employeeExportRecord.getId().equals(employee.getId())) {
+                    if (employeeExportRecord != null) {
+                        writeRecord(employeeExportRecord, outputStream, ++written);
+                    }
+                    employeeExportRecord = Utility.mapFromEmployeeToEmployeeExportRecord(employee);
+                }
+                if (leave != null) {
+                    employeeExportRecord.getLeaves().add(Utility.mapFromLeaveToLeaveResponse(leave));
+                    entityManager.detach(leave);
+                }
+                entityManager.detach(employee);
+            }
+        }
+        if (employeeExportRecord != null) {
+            writeRecord(employeeExportRecord, outputStream, ++written);
+        }
+        outputStream.flush();
+        return written;
+    }
+
+    private void writeRecord(EmployeeExportRecord employeeExportRecord, OutputStream outputStream, long recordNumber) throws IOException {
+        objectWriter.writeValue(outputStream, employeeExportRecord);
+        outputStream.write('\n');
+        // flush the first line straight away so the client sees bytes before the cursor is drained
+        if (recordNumber == 1L || recordNumber % FLUSH_EVERY_RECORDS == 0) {
+            outputStream.flush();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.EmployeeImportResponse;
+import com.io.lms.dto.EmployeeImportRowError;
+import com.io.lms.dto.EmployeeRegisterRequest;
+import com.io.lms.model.Employee;
+import com.io.lms.repository.EmployeeRepository;
+import com.io.lms.util.Utility;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.io.lms.constant.Constants.EMPLOYEE_IMPORT_CHUNK_SIZE;
+
+/**
+ * Onboards employees from CSV rows of {@code name,email,gender}, optionally preceded by that header.
+ * Rows are read one at a time and saved in chunks of {@link com.io.lms.constant.Constants#EMPLOYEE_IMPORT_CHUNK_SIZE},
+ * each chunk committed in its own transaction, so memory holds at most one chunk whatever the file size.
+ * Invalid rows, and the rows of a chunk that fails to save, are reported with their line numbers.
+ */
+@Service
+@Slf4j
+public class EmployeeImportService {
+
+    private static final String HEADER = "name,email,gender";
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public EmployeeImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public EmployeeImportResponse importEmployees(Reader reader) throws IOException {
+        log.debug("Inside importEmployees() of EmployeeImportService class");
+        EmployeeImportResponse employeeImportResponse = new EmployeeImportResponse();
+        List<Employee> chunk = new ArrayList<>(EMPLOYEE_IMPORT_CHUNK_SIZE);
+        List<Long> chunkLineNumbers = new ArrayList<>(EMPLOYEE_IMPORT_CHUNK_SIZE);
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        long lineNumber = 0L;
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty() || (lineNumber == 1L && line.replace(" ", "").equalsIgnoreCase(HEADER))) {
+                continue;
+            }
+            employeeImportResponse.setRowsRead(employeeImportResponse.getRowsRead() + 1);
+            try {
+                chunk.add(mapFromCsvLineToEmployee(line));
+                chunkLineNumbers.add(lineNumber);
+            } catch (RuntimeException e) {
+                employeeImportResponse.getRejectedRows().add(new EmployeeImportRowError(lineNumber, e.getMessage()));
+            }
+            if (chunk.size() == EMPLOYEE_IMPORT_CHUNK_SIZE) {
+                saveChunk(chunk, chunkLineNumbers, employeeImportResponse);
+            }
+        }
+        saveChunk(chunk, chunkLineNumbers, employeeImportResponse);
+        return employeeImportResponse;
+    }
+
+    private Employee mapFromCsvLineToEmployee(String line) {
+        List<String> fields = Utility.splitCsvLine(line);
+        if (fields.size() != 3) {
+            throw new IllegalArgumentException("Expected 3 fields (" + HEADER + ") but found " + fields.size());
+        }
+        EmployeeRegisterRequest employeeRegisterRequest = new EmployeeRegisterRequest();
+        employeeRegisterRequest.setName(fields.get(0));
+        employeeRegisterRequest.setEmail(fields.get(1));
+        employeeRegisterRequest.setGender(fields.get(2));
+        Utility.validateEmployeeRegisterRequest(employeeRegisterRequest);
+        return Utility.mapFromEmployeeRegisterRequestToEmployee(employeeRegisterRequest);
+    }
+
+    private void saveChunk(List<Employee> chunk, List<Long> chunkLineNumbers, EmployeeImportResponse employeeImportResponse) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.execute(status -> employeeRepository.saveAll(chunk));
+            employeeImportResponse.setImported(employeeImportResponse.getImported() + chunk.size());
+        } catch (RuntimeException e) {
+            log.error("Exception in saving employees of lines " + chunkLineNumbers.get(0) + " to " + chunkLineNumbers.get(chunkLineNumbers.size() - 1) + ": " + e.toString());
+            for (Long chunkLineNumber : chunkLineNumbers) {
+                employeeImportResponse.getRejectedRows().add(new EmployeeImportRowError(chunkLineNumber, e.getMessage()));
+            }
+        }
+        chunk.clear();
+        chunkLineNumbers.clear();
+    }
+}
@@ -1,7 +1,6 @@
 package com.io.lms.service;
 
 import com.io.lms.dto.*;
-import com.io.lms.exception.DateParsingException;
 import com.io.lms.exception.EmployeeNotFoundException;
 import com.io.lms.exception.ExtraWorkDateTimeEligibilityException;
 import com.io.lms.exception.LeaveConstraintFailException;
@@ -10,20 +9,28 @@ import com.io.lms.model.ExtraWork;
 import com.io.lms.model.Leave;
 import com.io.lms.repository.EmployeeRepository;
 import com.io.lms.repository.ExtraWorkRepository;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.repository.LeaveSpan;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.LeaveIntervalIndex;
 import com.io.lms.util.Utility;
+import com.io.lms.util.ValidationResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
 
-import javax.transaction.Transactional;
 import java.text.ParseException;
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import static com.io.lms.constant.Constants.MILLI_SEC_PER_DAY;
+import static com.io.lms.constant.Constants.EXTRA_WORK_DATE_EXISTS;
+import static com.io.lms.constant.Constants.MAX_PAGE_SIZE;
 
 @Service
 @Transactional
@@ -35,7 +42,13 @@ public class EmployeeService {
     @Autowired
     ExtraWorkRepository extraWorkRepository;
     @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    CompOffLedgerService compOffLedgerService;
+    @Autowired
     private LeaveServicesFactory leaveServicesFactory;
+    @Autowired
+    private LeaveIntervalIndexCache leaveIntervalIndexCache;
 
     public EmployeeRegisterResponse registerNewEmployee(EmployeeRegisterRequest employeeRegisterRequest) throws ParseException {
         log.debug("Inside registerNewEmployee function of EmployeeService class");
@@ -44,18 +57,42 @@ public class EmployeeService {
     }
 
 
+    @Transactional(readOnly = true)
     public List<EmployeeRegisterResponse> getAllEmployees() {
         log.debug("Inside getAllEmployees function of EmployeeService class");
         List<Employee> employees = employeeRepository.findAll();
-        return employees.stream().map(Utility::mapFromEmployeeToEmployeeResponse).collect(Collectors.toList());
+        return employees.stream().map(Utility::mapFromEmployeeToEmployeeResponseWithoutLeaves).collect(Collectors.toList());
     }
 
+    /**
+     * One page of employees with ids greater than {@code afterId}, in id order. Leaves are only loaded when
+     * {@code includeLeaves} is set, in batches of the collection's {@code @BatchSize} rather than one query per employee.
+     */
+    @Transactional(readOnly = true)
+    public List<EmployeeRegisterResponse> getEmployees(Long afterId, int limit, boolean includeLeaves) {
+        log.debug("Inside getEmployees function of EmployeeService class");
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<Employee> employees = employeeRepository.findAllByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit));
+        if (!includeLeaves) {
+            return employees.stream().map(Utility::mapFromEmployeeToEmployeeResponseWithoutLeaves).collect(Collectors.toList());
+        }
+        return employees.stream().map((employee) -> {
+            EmployeeRegisterResponse employeeRegisterResponse = Utility.mapFromEmployeeToEmployeeResponseWithoutLeaves(employee);
+            employeeRegisterResponse.setLeaves(new ArrayList<>(employee.getLeaves()));
+            return employeeRegisterResponse;
+        }).collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
     public EmployeeRegisterResponse getEmployeeById(Long id) {
         log.debug("Inside getEmployeeById function of EmployeeService class");
         Employee emp = findEmployeeById(id);
         return Utility.mapFromEmployeeToEmployeeResponse(emp);
     }
 
+    @Transactional(readOnly = true)
     public List<LeaveResponse> getAllLeaveHistory(Long empId) {
         log.debug("Inside getAllLeaveHistory function of EmployeeService class");
         Employee emp = findEmployeeById(empId);
@@ -64,108 +101,147 @@ public class EmployeeService {
         return leaveResponses;
     }
 
+    @Transactional(readOnly = true)
     public List<LeaveResponse> getDateSpecificLeaveHistory(Long empId, LeaveRequest leaveRequest) throws ParseException {
         log.debug("Inside getDateSpecificLeaveHistory() of EmployeeService class");
-        final Date startDate = Utility.stringToDate(leaveRequest.getStartDate());
-        final Date endDate = Utility.stringToDate(leaveRequest.getEndDate());
-        if (!Utility.isStartDateLessThanEqualToEndDate(startDate, endDate)) {
+        final int startDate = Utility.stringToEpochDay(leaveRequest.getStartDate());
+        final int endDate = Utility.stringToEpochDay(leaveRequest.getEndDate());
+        if (startDate > endDate) {
             throw new LeaveConstraintFailException("Start Date is greater than the End Date");
         }
-        Employee emp = findEmployeeById(empId);
-        List<Leave> leaves = emp.getLeaves();
-        Predicate<Leave> isOverLapping = ((leave) -> Utility.isDateRangeOverlapping(leave.getStartDate(), leave.getEndDate(), startDate, endDate));
-        Function<Leave, LeaveResponse> leaveResponseWithManipulatedDates = ((leave) -> {
-            try {
-                return getLeaveResponseWithManipulatedDates(leave, startDate, endDate);
-            } catch (ParseException e) {
-                throw new DateParsingException(e.getMessage());
-            }
-        });
-        List<LeaveResponse> leaveResponses = leaves.stream()
-                .filter(isOverLapping)
+        return getDateSpecificLeaveHistory(empId, startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public List<LeaveResponse> getDateSpecificLeaveHistory(Long empId, int startDate, int endDate) {
+        log.debug("Inside getDateSpecificLeaveHistory() of EmployeeService class");
+        String location = findLocationById(empId);
+        List<LeaveSpan> leaveSpans = leaveRepository.findOverlapping(empId, EpochDays.toDate(startDate), EpochDays.toDate(endDate));
+        Function<LeaveSpan, LeaveResponse> leaveResponseWithManipulatedDates = ((leaveSpan) -> getLeaveResponseWithManipulatedDates(location, leaveSpan, startDate, endDate));
+        List<LeaveResponse> leaveResponses = leaveSpans.stream()
                 .map(leaveResponseWithManipulatedDates).collect(Collectors.toList());
         return leaveResponses;
     }
 
+    /**
+     * Same as {@link #getDateSpecificLeaveHistory(Long, int, int)}, answered from the leave interval index
+     * already held by the context instead of querying the leave table.
+     */
+    public List<LeaveResponse> getDateSpecificLeaveHistory(EmployeeContext employeeContext, int startDate, int endDate) {
+        log.debug("Inside getDateSpecificLeaveHistory() of EmployeeService class");
+        LeaveIntervalIndex leaveIntervalIndex = employeeContext.getLeaveIntervalIndex();
+        String location = employeeContext.getEmployee().getLocation();
+        List<LeaveResponse> leaveResponses = leaveIntervalIndex.findOverlapping(startDate, endDate).stream()
+                .map((position) -> getLeaveResponseWithManipulatedDates(location, leaveIntervalIndex.getLeaveId(position), leaveIntervalIndex.getLeaveType(position),
+                        leaveIntervalIndex.getStartEpochDay(position), leaveIntervalIndex.getEndEpochDay(position), startDate, endDate))
+                .collect(Collectors.toList());
+        return leaveResponses;
+    }
+
     public ExtraWorkResponse logExtraWorkRequest(Long empId, ExtraWorkRequest extraWorkRequest) throws ParseException {
+        log.debug("Inside logExtraWorkRequest() of EmployeeService class");
+        ValidationResult validationResult = new ValidationResult();
+        ExtraWorkResponse extraWorkResponse = logExtraWorkRequest(empId, extraWorkRequest, validationResult);
+        validationResult.throwIfInvalid(ExtraWorkDateTimeEligibilityException::new);
+        return extraWorkResponse;
+    }
+
+    /**
+     * Logs the extra work, or returns {@code null} with the reasons added to {@code validationResult}.
+     */
+    public ExtraWorkResponse logExtraWorkRequest(Long empId, ExtraWorkRequest extraWorkRequest, ValidationResult validationResult) {
         log.debug("Inside logExtraWorkRequest() of EmployeeService class");
         extraWorkRequest.setEmpId(empId);
-        if (validateExtraWorkRequest(extraWorkRequest)) {
-            log.debug("Extra work log request validated successfully!!");
+        Long startDateTime = Utility.parseEpochMilli(extraWorkRequest.getStartDateTime(), "start-Date-Time", validationResult);
+        Long endDateTime = Utility.parseEpochMilli(extraWorkRequest.getEndDateTime(), "end-Date-Time", validationResult);
+        if (startDateTime == null || endDateTime == null || !checkExtraWorkRequest(empId, startDateTime, endDateTime, validationResult).isValid()) {
+            return null;
         }
-        ExtraWork extraWork = extraWorkRepository.save(Utility.mapFromExtraWorkRequestToExtraWork(extraWorkRequest));
+        ExtraWork extraWork = Utility.mapFromExtraWorkRequestToExtraWork(empId, EpochDays.ofEpochMilli(startDateTime));
+        // a versioned employee carrying only its id reads as transient; reference the stored row instead
+        extraWork.setEmployee(employeeRepository.getOne(empId));
+        extraWork = extraWorkRepository.save(extraWork);
+        compOffLedgerService.credit(empId, EpochDays.ofEpochMilli(startDateTime));
         return Utility.mapFromExtraWorkToExtraWorkResponse(extraWork);
     }
 
-    private LeaveResponse getLeaveResponseWithManipulatedDates(Leave leave, Date startDate, Date endDate) throws ParseException {
+    private LeaveResponse getLeaveResponseWithManipulatedDates(String location, LeaveSpan leave, int startDate, int endDate) {
         log.debug("Inside filterLeaveResponses() of EmployeeService class");
-        Date dbStartDate = leave.getStartDate();
-        Date dbEndDate = leave.getEndDate();
-        if (startDate.getTime() >= dbStartDate.getTime() && endDate.getTime() <= dbEndDate.getTime()) {
-            leave.setStartDate(startDate);
-            leave.setEndDate(endDate);
-        } else if (startDate.getTime() <= dbStartDate.getTime() && endDate.getTime() >= dbStartDate.getTime() && endDate.getTime() <= dbEndDate.getTime()) {
-            leave.setEndDate(endDate);
-
-        } else if (endDate.getTime() >= dbEndDate.getTime() && startDate.getTime() >= dbStartDate.getTime() && startDate.getTime() <= dbEndDate.getTime()) {
-            leave.setStartDate(startDate);
+        return getLeaveResponseWithManipulatedDates(location, leave.getLeaveId(), leave.getLeaveType(), EpochDays.of(leave.getStartDate()), EpochDays.of(leave.getEndDate()), startDate, endDate);
+    }
+
+    private LeaveResponse getLeaveResponseWithManipulatedDates(String location, Long leaveId, String leaveType, int leaveStartDate, int leaveEndDate, int startDate, int endDate) {
+        // clip the leave to the requested range
+        int clippedStartDate = Math.max(startDate, leaveStartDate);
+        int clippedEndDate = Math.min(endDate, leaveEndDate);
+        LeaveResponse leaveResponse = new LeaveResponse();
+        leaveResponse.setLeaveId(leaveId);
+        leaveResponse.setLeaveType(leaveType);
+        leaveResponse.setStartDate(Utility.epochDayToString(clippedStartDate));
+        leaveResponse.setEndDate(Utility.epochDayToString(clippedEndDate));
+        leaveResponse.setLeaveCount(leaveServicesFactory.getService(leaveType).getNetLeaveCount(location, clippedStartDate, clippedEndDate));
+        return leaveResponse;
+    }
+
+    private ValidationResult checkExtraWorkRequest(Long empId, long startDateTime, long endDateTime, ValidationResult validationResult) {
+        log.debug("Inside checkExtraWorkRequest() of EmployeeService class");
+        Employee employeeToCheck = findEmployeeById(empId);
+        if (!validateDateEligibilityForExtraWork(employeeToCheck.getLocation(), startDateTime, endDateTime)) {
+            validationResult.reject("Date Eligibility failed for extra-work logging");
+        }
+        int startDate = EpochDays.ofEpochMilli(startDateTime);
+        if (startDate < EpochDays.of(employeeToCheck.getJoiningDate())) {
+            validationResult.reject("Joining date greater than extra-work starting date");
         }
-        leave.setLeaveCount(leaveServicesFactory.getService(leave.getLeaveType()).getNetLeaveCount(leave.getStartDate(), leave.getEndDate()));
-        return Utility.mapFromLeaveToLeaveResponse(leave);
-    }
-
-    private boolean validateExtraWorkRequest(ExtraWorkRequest extraWorkRequest) throws ParseException {
-        log.debug("Inside validateExtraWorkRequest() of EmployeeService class");
-        Long empId = extraWorkRequest.getEmpId();
-        if (validateDateEligibilityForExtraWork(extraWorkRequest.getStartDateTime(), extraWorkRequest.getEndDateTime())) {
-            Employee employeeToCheck = findEmployeeById(empId);
-            Date startDate = Utility.stringToDate(extraWorkRequest.getStartDateTime());
-            if (!Utility.validateJoiningDateConstraint(startDate, employeeToCheck.getJoiningDate())) {
-                throw new ExtraWorkDateTimeEligibilityException("Joining date greater than extra-work starting date");
-            }
-            List<ExtraWork> extraWorks = extraWorkRepository.findAllByEmployeeId(empId);
-            Predicate<ExtraWork> isSameDatePresentInDB = (extraWork) -> Utility.dateToString(extraWork.getDate()).equals(Utility.dateToString(startDate));
-            Long sameDateCount = extraWorks.stream().filter(isSameDatePresentInDB).count();
-            if (sameDateCount > 0L) {
-                throw new ExtraWorkDateTimeEligibilityException("Date already exists, overlapping log days");
-            }
-        } else {
-            throw new ExtraWorkDateTimeEligibilityException("Date Eligibility failed for extra-work logging");
+        // one probe of the unique (employee_id, date) index; the index itself turns away a concurrent duplicate
+        if (extraWorkRepository.existsByEmployeeIdAndDate(empId, EpochDays.toDate(startDate))) {
+            validationResult.reject(EXTRA_WORK_DATE_EXISTS);
         }
-        return true;
+        return validationResult;
     }
 
-    private boolean validateDateEligibilityForExtraWork(String startDateTime, String endDateTime) throws ParseException {
+    private boolean validateDateEligibilityForExtraWork(String location, long startDateTime, long endDateTime) {
         log.debug("Inside mapFromDtoExtraWorkRequestToExtraWork() of EmployeeService class");
-        Date startDateWithoutTime = Utility.stringToDate(startDateTime);
-        Date endDateWithoutTime = Utility.stringToDate(endDateTime);
-        Date startDateWithTime = Utility.stringToDateTime(startDateTime);
-        Date endDateWithTime = Utility.stringToDateTime(endDateTime);
-        Date currDateWithTime = Utility.getCurrentDateWithTime();
+        int startDateWithoutTime = EpochDays.ofEpochMilli(startDateTime);
+        int endDateWithoutTime = EpochDays.ofEpochMilli(endDateTime);
         //checks the date is same or not and whether the log end date is lesser than the current date
-        if ((!Utility.isStartDateEqualsEndDate(startDateWithoutTime, endDateWithoutTime)) || Utility.isCurrentDateTimeLessThanEndDateTime(currDateWithTime, endDateWithTime)) {
+        if (startDateWithoutTime != endDateWithoutTime || System.currentTimeMillis() < endDateTime) {
             return false;
         }
-        if (Utility.isDateHolidaysORNonWorkingDays(startDateWithoutTime)) {
+        if (Utility.isDateHolidaysORNonWorkingDays(location, startDateWithoutTime)) {
             //if its lesser than 8 hrs
-            return Utility.isNumOfHoursValidForExtraWork(startDateWithTime, endDateWithTime);
+            return Utility.isNumOfHoursValidForExtraWork(startDateTime, endDateTime);
         } else {//if it's neither a holiday nor a non-working day
             return false;
         }
     }
 
-    public CompOffBalanceResponse getComOffBalance(Long id) throws ParseException {
+    @Transactional(readOnly = true)
+    public CompOffBalanceResponse getComOffBalance(Long id) {
         log.debug("Inside getComOffBalance() of EmployeeService class");
-        Date currentDate = Utility.getCurrentDate();
-        Employee employee = findEmployeeById(id);
-        List<ExtraWork> extraWorks = employee.getExtraWorks();
-        Predicate<ExtraWork> validateThirtyDaysConstraint = ((extraWork) -> ((currentDate.getTime() - extraWork.getDate().getTime()) / MILLI_SEC_PER_DAY <= 30));
-        Function<ExtraWork, Long> givesOneDay = (extraWork) -> 1L;
-        Long balanceDays = extraWorks.stream()
-                .filter(validateThirtyDaysConstraint)
-                .map(givesOneDay)
-                .reduce(0L, Long::sum);
-        return new CompOffBalanceResponse(id, balanceDays);
+        return new CompOffBalanceResponse(id, compOffLedgerService.getBalance(id));
+    }
+
+    public EmployeeContext loadEmployeeContext(Long empId) {
+        log.debug("Inside loadEmployeeContext() of EmployeeService class");
+        Employee employee = findEmployeeById(empId);
+        return new EmployeeContext(employee, leaveIntervalIndexCache.getIndex(empId, employee.getVersion()));
+    }
+
+    /**
+     * Claims the right to write leaves for {@code employee} in the current transaction: moves its version one
+     * past the version the caller validated against. Fails when another transaction wrote for the employee in
+     * between; the row stays locked until commit, so concurrent writers for one employee go one at a time
+     * while other employees are not held up.
+     *
+     * @throws ObjectOptimisticLockingFailureException when the stored version has moved on
+     */
+    public void incrementVersion(Employee employee) {
+        log.debug("Inside incrementVersion() of EmployeeService class");
+        if (employeeRepository.incrementVersion(employee.getId(), employee.getVersion()) == 0) {
+            log.error("Concurrent leave write for an employee with empId: " + employee.getId());
+            throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getId());
+        }
     }
 
     public Employee findEmployeeById(Long empId) {
@@ -173,4 +249,12 @@ public class EmployeeService {
         Employee emp = employeeRepository.findById(empId).orElseThrow(() -> new EmployeeNotFoundException("Employee id: '" + empId + "' does not exist"));
         return emp;
     }
+
+    private String findLocationById(Long empId) {
+        List<String> locations = employeeRepository.findLocationById(empId);
+        if (locations.isEmpty()) {
+            throw new EmployeeNotFoundException("Employee id: '" + empId + "' does not exist");
+        }
+        return locations.get(0);
+    }
 }
@@ -0,0 +1,128 @@
+package com.io.lms.service;
+
+import com.io.lms.model.Holiday;
+import com.io.lms.model.WorkLocation;
+import com.io.lms.repository.HolidayRepository;
+import com.io.lms.repository.WorkLocationRepository;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.HolidaysAndNonWorkingDays;
+import com.io.lms.util.LocationCalendar;
+import com.io.lms.util.WorkingDayCalendarIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.io.lms.constant.Constants.CALENDAR_INDEX_YEARS_AFTER;
+import static com.io.lms.constant.Constants.CALENDAR_INDEX_YEARS_BEFORE;
+import static com.io.lms.constant.Constants.DEFAULT_LOCATION;
+
+/**
+ * Loads the work locations and the holidays table into fresh calendar snapshots and publishes them:
+ * a {@link LocationCalendar} per location, and for the default location also the
+ * {@link HolidaysAndNonWorkingDays} snapshot and the {@link WorkingDayCalendarIndex} built from it.
+ * Request threads keep reading the previous snapshots until the swap, so a reload never pauses them.
+ * A missing default location is created with {@link HolidaysAndNonWorkingDays#DEFAULT_HOLIDAYS}.
+ */
+@Service
+@Slf4j
+public class HolidayCalendarService {
+
+    @Autowired
+    HolidayRepository holidayRepository;
+    @Autowired
+    WorkLocationRepository workLocationRepository;
+
+    @Value("${lms.calendar.index.years-before:" + CALENDAR_INDEX_YEARS_BEFORE + "}")
+    private int yearsBefore;
+    @Value("${lms.calendar.index.years-after:" + CALENDAR_INDEX_YEARS_AFTER + "}")
+    private int yearsAfter;
+
+    @PostConstruct
+    public void initHolidayCalendar() {
+        log.debug("Initializing holiday calendar with an index of " + yearsBefore + " years before and " + yearsAfter + " years after the current year");
+        if (!workLocationRepository.existsById(DEFAULT_LOCATION)) {
+            String nonWorkingDays = Arrays.stream(HolidaysAndNonWorkingDays.DEFAULT_NON_WORKING_DAYS).map(String::valueOf).collect(Collectors.joining(","));
+            workLocationRepository.save(new WorkLocation(DEFAULT_LOCATION, "Default location", nonWorkingDays));
+            holidayRepository.saveAll(HolidaysAndNonWorkingDays.getDefaultHolidays().stream()
+                    .map((holidayDate) -> new Holiday(DEFAULT_LOCATION, holidayDate, null))
+                    .collect(Collectors.toList()));
+        }
+        reload();
+    }
+
+    /**
+     * @return the number of holidays in the published calendars of all locations
+     */
+    public synchronized int reload() {
+        log.debug("Inside reload() of HolidayCalendarService class");
+        Map<String, List<Date>> holidaysByLocation = new HashMap<>();
+        for (Holiday holiday : holidayRepository.findAll()) {
+            holidaysByLocation.computeIfAbsent(holiday.getLocation(), (location) -> new ArrayList<>()).add(holiday.getHolidayDate());
+        }
+        Map<String, LocationCalendar> locationCalendars = new HashMap<>();
+        HolidaysAndNonWorkingDays defaultCalendar = null;
+        int holidayCount = 0;
+        for (WorkLocation workLocation : workLocationRepository.findAll()) {
+            List<Date> holidays = holidaysByLocation.getOrDefault(workLocation.getCode(), new ArrayList<>());
+            List<Integer> nonWorkingDays;
+            try {
+                nonWorkingDays = parseNonWorkingDays(workLocation.getNonWorkingDays());
+            } catch (IllegalArgumentException e) {
+                // one misconfigured location must not fail the calendars of all the others
+                log.error("Calendar of location: " + workLocation.getCode() + " is skipped: " + e.getMessage());
+                holidaysByLocation.remove(workLocation.getCode());
+                continue;
+            }
+            List<Integer> holidayEpochDays = holidays.stream().map(EpochDays::of).distinct().collect(Collectors.toList());
+            locationCalendars.put(workLocation.getCode(), new LocationCalendar(workLocation.getCode(), holidayEpochDays, nonWorkingDays));
+            holidayCount += holidayEpochDays.size();
+            if (DEFAULT_LOCATION.equals(workLocation.getCode())) {
+                defaultCalendar = new HolidaysAndNonWorkingDays(holidays, nonWorkingDays);
+            }
+        }
+        holidaysByLocation.keySet().stream().filter((location) -> !locationCalendars.containsKey(location))
+                .forEach((location) -> log.error("Holidays of unknown location: " + location + " are ignored"));
+        if (defaultCalendar == null) {
+            defaultCalendar = new HolidaysAndNonWorkingDays(new ArrayList<>(), Arrays.asList(HolidaysAndNonWorkingDays.DEFAULT_NON_WORKING_DAYS));
+        }
+        // the calendar lookups in Utility read the index and the location calendars, so they are swapped first
+        WorkingDayCalendarIndex.configure(defaultCalendar, yearsBefore, yearsAfter);
+        LocationCalendar.publish(locationCalendars);
+        HolidaysAndNonWorkingDays.publish(defaultCalendar);
+        return holidayCount;
+    }
+
+    /**
+     * @throws IllegalArgumentException when a day is not a number from 1 (Sunday) to 7 (Saturday)
+     */
+    private List<Integer> parseNonWorkingDays(String nonWorkingDays) {
+        if (nonWorkingDays == null || nonWorkingDays.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Integer> days = new ArrayList<>();
+        for (String value : nonWorkingDays.split(",")) {
+            int dayOfWeek;
+            try {
+                dayOfWeek = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Non-working day: " + value.trim() + " is not a number");
+            }
+            if (dayOfWeek < Calendar.SUNDAY || dayOfWeek > Calendar.SATURDAY) {
+                throw new IllegalArgumentException("Non-working day: " + dayOfWeek + " is not between 1 and 7");
+            }
+            days.add(dayOfWeek);
+        }
+        return days;
+    }
+}
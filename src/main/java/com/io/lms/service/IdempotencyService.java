@@ -0,0 +1,218 @@
+package com.io.lms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.io.lms.model.IdempotencyRecord;
+import com.io.lms.repository.IdempotencyRecordRepository;
+import com.io.lms.util.CustomMessageMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.io.lms.constant.Constants.IDEMPOTENCY_PENDING_STATUS;
+import static com.io.lms.constant.Constants.IDEMPOTENT_REPLAY_HEADER;
+import static com.io.lms.constant.Constants.MAX_IDEMPOTENCY_KEY_LENGTH;
+
+/**
+ * Replays the stored response of a request retried with the same {@code Idempotency-Key}, without calling
+ * the services again. Responses live in a bounded, least recently used cache in front of the
+ * {@link IdempotencyRecord} table, and both drop them once they are older than the configured TTL.
+ * Only successful responses are stored: a rejected request changed nothing, so running it again is safe.
+ * <p>
+ * A key is claimed by inserting a pending record before the request runs, the key being the primary key,
+ * so a retry that reaches any instance while the first attempt is still running is refused instead of
+ * running alongside it. The response is stored on the claim once the request has completed, after the
+ * request's own transaction committed. If the instance dies between the two, or the response cannot be
+ * stored, the pending claim keeps refusing retries until it is older than the claim timeout; a retry after
+ * that runs the request again.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    @Autowired
+    IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final long claimTimeoutMillis;
+    // completed records only; a pending claim is always read from the table
+    private final Map<String, IdempotencyRecord> records;
+
+    public IdempotencyService(ObjectMapper objectMapper,
+                              @Value("${lms.idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${lms.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                              @Value("${lms.idempotency.claim-timeout-seconds:60}") long claimTimeoutSeconds) {
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlMinutes * 60 * 1000;
+        this.claimTimeoutMillis = claimTimeoutSeconds * 1000;
+        this.records = new LinkedHashMap<String, IdempotencyRecord>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param idempotencyKey the client's key; without one the request simply runs
+     * @param path           the request path, so a key reused on another endpoint or employee is caught
+     * @param requestBody    the request body, so a key reused with a different body is caught
+     */
+    public ResponseEntity execute(String idempotencyKey, String path, Object requestBody, Supplier<ResponseEntity> request) {
+        log.debug("Inside execute() of IdempotencyService class");
+        if (idempotencyKey == null || idempotencyKey.trim().isEmpty()) {
+            return request.get();
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return errorResponse("Idempotency-Key must not be longer than " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters", HttpStatus.BAD_REQUEST);
+        }
+        String requestHash = hash(path, requestBody);
+        IdempotencyRecord idempotencyRecord = findCachedRecord(idempotencyKey);
+        if (idempotencyRecord != null) {
+            return replay(idempotencyKey, idempotencyRecord, requestHash);
+        }
+        Date claimedAt = new Date();
+        if (!claim(idempotencyKey, requestHash, claimedAt)) {
+            idempotencyRecord = idempotencyRecordRepository.findById(idempotencyKey).orElse(null);
+            if (idempotencyRecord == null || isPending(idempotencyRecord)) {
+                return errorResponse("A request with this Idempotency-Key is still in progress", HttpStatus.CONFLICT);
+            }
+            cacheRecord(idempotencyRecord);
+            return replay(idempotencyKey, idempotencyRecord, requestHash);
+        }
+        ResponseEntity response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            idempotencyRecordRepository.release(idempotencyKey, IDEMPOTENCY_PENDING_STATUS, claimedAt);
+            throw e;
+        }
+        if (response.getStatusCode().is2xxSuccessful()) {
+            storeRecord(idempotencyKey, requestHash, claimedAt, response);
+        } else {
+            idempotencyRecordRepository.release(idempotencyKey, IDEMPOTENCY_PENDING_STATUS, claimedAt);
+        }
+        return response;
+    }
+
+    /**
+     * Drops expired responses from the cache and the table.
+     *
+     * @return the number of rows deleted
+     */
+    @Scheduled(fixedDelayString = "${lms.idempotency.sweep-interval-ms:600000}")
+    @Transactional
+    public int evictExpired() {
+        log.debug("Inside evictExpired() of IdempotencyService class");
+        Date cutoff = new Date(System.currentTimeMillis() - ttlMillis);
+        synchronized (records) {
+            records.values().removeIf(idempotencyRecord -> idempotencyRecord.getCreatedAt().before(cutoff));
+        }
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(cutoff);
+        if (deleted > 0) {
+            log.info("Deleted " + deleted + " expired idempotency records");
+        }
+        return deleted;
+    }
+
+    /**
+     * Inserts a pending record for the key, or takes over the record of the key if it expired or was left
+     * pending by an attempt that died.
+     *
+     * @return false when the key is taken by a live record
+     */
+    private boolean claim(String idempotencyKey, String requestHash, Date claimedAt) {
+        try {
+            idempotencyRecordRepository.insertPending(idempotencyKey, requestHash, IDEMPOTENCY_PENDING_STATUS, claimedAt);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            Date staleBefore = new Date(claimedAt.getTime() - claimTimeoutMillis);
+            Date expiredBefore = new Date(claimedAt.getTime() - ttlMillis);
+            return idempotencyRecordRepository.takeOver(idempotencyKey, requestHash, IDEMPOTENCY_PENDING_STATUS,
+                    claimedAt, staleBefore, expiredBefore) == 1;
+        }
+    }
+
+    private ResponseEntity replay(String idempotencyKey, IdempotencyRecord idempotencyRecord, String requestHash) {
+        if (!idempotencyRecord.getRequestHash().equals(requestHash)) {
+            return errorResponse("Idempotency-Key was already used for a different request", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        log.info("Replaying the stored response for Idempotency-Key: " + idempotencyKey);
+        return ResponseEntity.status(idempotencyRecord.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(IDEMPOTENT_REPLAY_HEADER, "true")
+                .body(idempotencyRecord.getResponseBody());
+    }
+
+    private IdempotencyRecord findCachedRecord(String idempotencyKey) {
+        IdempotencyRecord idempotencyRecord;
+        synchronized (records) {
+            idempotencyRecord = records.get(idempotencyKey);
+        }
+        return (idempotencyRecord == null || isExpired(idempotencyRecord)) ? null : idempotencyRecord;
+    }
+
+    private void cacheRecord(IdempotencyRecord idempotencyRecord) {
+        synchronized (records) {
+            records.put(idempotencyRecord.getIdempotencyKey(), idempotencyRecord);
+        }
+    }
+
+    private void storeRecord(String idempotencyKey, String requestHash, Date claimedAt, ResponseEntity response) {
+        try {
+            IdempotencyRecord idempotencyRecord = new IdempotencyRecord(idempotencyKey, requestHash, response.getStatusCodeValue(),
+                    objectMapper.writeValueAsString(response.getBody()), claimedAt);
+            if (idempotencyRecordRepository.complete(idempotencyKey, IDEMPOTENCY_PENDING_STATUS, claimedAt,
+                    idempotencyRecord.getStatusCode(), idempotencyRecord.getResponseBody()) == 1) {
+                cacheRecord(idempotencyRecord);
+            } else {
+                log.error("Claim on Idempotency-Key: " + idempotencyKey + " was taken over before its response was stored");
+            }
+        } catch (Exception e) {
+            // the request itself succeeded; failing it now would only invite another retry
+            log.error("Could not store the response for Idempotency-Key: " + idempotencyKey + "\nException: " + e.toString());
+        }
+    }
+
+    private boolean isPending(IdempotencyRecord idempotencyRecord) {
+        return idempotencyRecord.getStatusCode() == IDEMPOTENCY_PENDING_STATUS;
+    }
+
+    private boolean isExpired(IdempotencyRecord idempotencyRecord) {
+        return idempotencyRecord.getCreatedAt().getTime() < System.currentTimeMillis() - ttlMillis;
+    }
+
+    private String hash(String path, Object requestBody) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(path.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) '\n');
+            messageDigest.update(objectMapper.writeValueAsBytes(requestBody));
+            return Base64.getEncoder().encodeToString(messageDigest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ResponseEntity errorResponse(String message, HttpStatus httpStatus) {
+        log.error(message);
+        CustomMessageMap customMessageMap = new CustomMessageMap("Exception occurred", message);
+        return new ResponseEntity(customMessageMap.getMessageMap(), httpStatus);
+    }
+}
@@ -0,0 +1,115 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.LeaveBatchItemResponse;
+import com.io.lms.dto.LeaveRequest;
+import com.io.lms.exception.LeaveConstraintFailException;
+import com.io.lms.model.Employee;
+import com.io.lms.model.Leave;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.Utility;
+import com.io.lms.util.ValidationResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.io.lms.constant.Constants.MAX_LEAVE_BATCH_SIZE;
+
+/**
+ * Applies many leave requests at once. Each request is validated in its own transaction against an
+ * {@link EmployeeContext} shared by all requests of the same employee, so requests of one batch are
+ * checked against each other as well as against the stored history. The accepted leaves are then
+ * saved together in one transaction, where Hibernate sends the inserts as JDBC batches. Saving fails
+ * with an optimistic locking failure when another request wrote leaves for one of the employees after
+ * its requests were validated.
+ */
+@Service
+@Slf4j
+public class LeaveBatchService {
+
+    @Autowired
+    EmployeeService employeeService;
+    @Autowired
+    LeaveServicesFactory leaveServicesFactory;
+    @Autowired
+    LeaveRepository leaveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public LeaveBatchService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public List<LeaveBatchItemResponse> enterNewLeaveRequests(List<LeaveRequest> leaveRequests) {
+        log.debug("Inside enterNewLeaveRequests() of LeaveBatchService class");
+        if (leaveRequests.size() > MAX_LEAVE_BATCH_SIZE) {
+            throw new LeaveConstraintFailException("Cannot apply more than " + MAX_LEAVE_BATCH_SIZE + " leave requests at a time");
+        }
+        Map<Long, EmployeeContext> employeeContexts = new HashMap<>();
+        List<LeaveBatchItemResponse> leaveBatchItemResponses = new ArrayList<>();
+        List<Leave> leaves = new ArrayList<>();
+        List<LeaveBatchItemResponse> acceptedItems = new ArrayList<>();
+        for (int i = 0; i < leaveRequests.size(); i++) {
+            LeaveRequest leaveRequest = leaveRequests.get(i);
+            LeaveBatchItemResponse leaveBatchItemResponse = new LeaveBatchItemResponse(i, leaveRequest.getEmpId(), false, null, null);
+            leaveBatchItemResponses.add(leaveBatchItemResponse);
+            try {
+                ValidationResult validationResult = new ValidationResult();
+                Leave leave = transactionTemplate.execute(status -> prepareLeave(leaveRequest, employeeContexts, validationResult));
+                if (leave == null) {
+                    log.error("Batch leave request " + i + " of an employee with empId: " + leaveRequest.getEmpId() + " rejected: " + validationResult.getMessage());
+                    leaveBatchItemResponse.setError(validationResult.getMessage());
+                    continue;
+                }
+                leaves.add(leave);
+                acceptedItems.add(leaveBatchItemResponse);
+            } catch (Exception e) {
+                log.error("Exception in batch leave request " + i + " of an employee with empId: " + leaveRequest.getEmpId() + "\nException: " + e.toString());
+                leaveBatchItemResponse.setError(e.getMessage());
+            }
+        }
+        if (leaves.isEmpty()) {
+            return leaveBatchItemResponses;
+        }
+        List<Leave> savedLeaves = transactionTemplate.execute(status -> {
+            // fails the whole batch if an employee got a leave written since its requests were validated
+            Map<Long, Employee> employees = new LinkedHashMap<>();
+            leaves.forEach((leave) -> employees.putIfAbsent(leave.getEmployee().getId(), leave.getEmployee()));
+            employees.values().forEach(employeeService::incrementVersion);
+            List<Leave> saved = leaveRepository.saveAll(leaves);
+            for (Leave leave : saved) {
+                leaveServicesFactory.getService(leave.getLeaveType()).leaveSaved(leave);
+            }
+            return saved;
+        });
+        for (int i = 0; i < savedLeaves.size(); i++) {
+            acceptedItems.get(i).setAccepted(true);
+            acceptedItems.get(i).setLeave(Utility.mapFromLeaveToLeaveResponse(savedLeaves.get(i)));
+        }
+        return leaveBatchItemResponses;
+    }
+
+    /**
+     * @return the leave to save, or {@code null} with the reasons added to {@code validationResult}
+     */
+    private Leave prepareLeave(LeaveRequest leaveRequest, Map<Long, EmployeeContext> employeeContexts, ValidationResult validationResult) {
+        Long empId = leaveRequest.getEmpId();
+        if (empId == null) {
+            validationResult.reject("Employee id is missing");
+            return null;
+        }
+        LeaveService leaveService = leaveServicesFactory.getService(leaveRequest.getLeaveType());
+        EmployeeContext employeeContext = employeeContexts.computeIfAbsent(empId, employeeService::loadEmployeeContext);
+        Leave leave = leaveService.mapFromLeaveRequestToLeave(leaveRequest, employeeContext, validationResult);
+        if (leave != null) {
+            employeeContext.leaveAccepted(leave);
+        }
+        return leave;
+    }
+}
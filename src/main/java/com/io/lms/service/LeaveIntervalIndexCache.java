@@ -0,0 +1,144 @@
+package com.io.lms.service;
+
+import com.io.lms.model.Leave;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.LeaveIntervalIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded, least recently used cache of {@link LeaveIntervalIndex} per employee.
+ * A miss loads the employee's leaves once; committed writes are applied through
+ * {@link LeaveIntervalIndexListener}. While leaves of an employee are being loaded, every committed
+ * write for that employee bumps its load generation, and a load only caches its result when no write
+ * committed while it was reading, so a load that raced with an insert can never hide that insert. The
+ * generation is kept only while a load is in flight, so it takes no room for idle employees. Each index is also tagged with the employee version it
+ * reflects, so a request that read a newer employee version than the cached one reloads instead of
+ * validating against an index its committed writer has not updated yet.
+ */
+@Component
+@Slf4j
+public class LeaveIntervalIndexCache {
+
+    private final Map<Long, VersionedIndex> indexes;
+    // employees whose leaves are being loaded
+    private final Map<Long, Loading> loadings = new HashMap<>();
+    @Autowired
+    private LeaveRepository leaveRepository;
+
+    public LeaveIntervalIndexCache(@Value("${lms.leave-index.max-employees:10000}") int maxEmployees) {
+        this.indexes = new LinkedHashMap<Long, VersionedIndex>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, VersionedIndex> eldest) {
+                return size() > maxEmployees;
+            }
+        };
+    }
+
+    /**
+     * The cached index whatever employee version it reflects; for reads that do not lead to a leave write.
+     */
+    public LeaveIntervalIndex getIndex(Long empId) {
+        log.debug("Inside getIndex() of LeaveIntervalIndexCache class");
+        synchronized (this) {
+            VersionedIndex versionedIndex = indexes.get(empId);
+            if (versionedIndex != null) {
+                return versionedIndex.index;
+            }
+        }
+        return load(empId, null);
+    }
+
+    /**
+     * The index as of employee version {@code version}, the version the caller read for the employee.
+     */
+    public LeaveIntervalIndex getIndex(Long empId, Long version) {
+        log.debug("Inside getIndex() of LeaveIntervalIndexCache class");
+        synchronized (this) {
+            VersionedIndex versionedIndex = indexes.get(empId);
+            if (versionedIndex != null && Objects.equals(versionedIndex.version, version)) {
+                return versionedIndex.index;
+            }
+        }
+        return load(empId, version);
+    }
+
+    private LeaveIntervalIndex load(Long empId, Long version) {
+        Loading loading;
+        long generation;
+        synchronized (this) {
+            loading = loadings.computeIfAbsent(empId, (id) -> new Loading());
+            loading.loads++;
+            generation = loading.generation;
+        }
+        LeaveIntervalIndex index = null;
+        try {
+            index = LeaveIntervalIndex.of(leaveRepository.findAllByEmployeeId(empId));
+            return index;
+        } finally {
+            synchronized (this) {
+                if (index != null && loading.generation == generation) {
+                    indexes.put(empId, new VersionedIndex(version, index));
+                }
+                if (--loading.loads == 0) {
+                    loadings.remove(empId);
+                }
+            }
+        }
+    }
+
+    private void writeCommitted(Long empId) {
+        Loading loading = loadings.get(empId);
+        if (loading != null) {
+            loading.generation++;
+        }
+    }
+
+    /**
+     * Applies a committed insert. {@code writtenAtVersion} is the employee version the writer validated
+     * against; the insert moved the employee to the next version. An index cached at any other version is
+     * dropped rather than patched.
+     */
+    public synchronized void leaveInserted(Long empId, Leave leave, Long writtenAtVersion) {
+        log.debug("Inside leaveInserted() of LeaveIntervalIndexCache class");
+        writeCommitted(empId);
+        VersionedIndex versionedIndex = indexes.get(empId);
+        if (versionedIndex == null) {
+            return;
+        }
+        if (writtenAtVersion != null && writtenAtVersion.equals(versionedIndex.version)) {
+            indexes.put(empId, new VersionedIndex(writtenAtVersion + 1, versionedIndex.index.withLeave(leave)));
+        } else {
+            indexes.remove(empId);
+        }
+    }
+
+    public synchronized void evict(Long empId) {
+        log.debug("Inside evict() of LeaveIntervalIndexCache class");
+        writeCommitted(empId);
+        indexes.remove(empId);
+    }
+
+    private static final class Loading {
+        // loads of the employee in flight, and writes committed for it since the first of them started
+        private int loads;
+        private long generation;
+    }
+
+    private static final class VersionedIndex {
+        private final Long version;
+        private final LeaveIntervalIndex index;
+
+        private VersionedIndex(Long version, LeaveIntervalIndex index) {
+            this.version = version;
+            this.index = index;
+        }
+    }
+}
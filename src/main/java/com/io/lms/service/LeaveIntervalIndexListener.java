@@ -0,0 +1,55 @@
+package com.io.lms.service;
+
+import com.io.lms.model.Leave;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Keeps {@link LeaveIntervalIndexCache} in sync with every {@link Leave} written through JPA.
+ * Changes are applied after the surrounding transaction commits, so a rolled back insert never
+ * reaches the cache.
+ */
+@Slf4j
+public class LeaveIntervalIndexListener {
+
+    // looked up on use: listeners are created while the entity manager factory is built, before the cache exists
+    @Autowired
+    private ObjectProvider<LeaveIntervalIndexCache> leaveIntervalIndexCache;
+
+    @PostPersist
+    public void leavePersisted(Leave leave) {
+        log.debug("Inside leavePersisted() of LeaveIntervalIndexListener class");
+        Long empId = leave.getEmployee().getId();
+        // the version the writer validated against; null when the leave only references the employee by id
+        Long writtenAtVersion = leave.getEmployee().getVersion();
+        afterCommit(() -> leaveIntervalIndexCache.getObject().leaveInserted(empId, leave, writtenAtVersion));
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void leaveChanged(Leave leave) {
+        log.debug("Inside leaveChanged() of LeaveIntervalIndexListener class");
+        Long empId = leave.getEmployee().getId();
+        afterCommit(() -> leaveIntervalIndexCache.getObject().evict(empId));
+    }
+
+    private void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.LeaveLedgerCheckResponse;
+import com.io.lms.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.io.lms.constant.Constants.OutOfOffice;
+
+/**
+ * Ledger jobs over all employees. Not transactional itself: each employee is rebuilt or checked
+ * in its own {@link LeaveLedgerService} transaction.
+ */
+@Service
+@Slf4j
+public class LeaveLedgerMaintenanceService {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    LeaveLedgerService leaveLedgerService;
+    @Autowired
+    CompOffLedgerService compOffLedgerService;
+
+    public int rebuildAll() {
+        log.debug("Inside rebuildAll() of LeaveLedgerMaintenanceService class");
+        List<Long> empIds = employeeRepository.findAllIds();
+        for (Long empId : empIds) {
+            leaveLedgerService.rebuild(empId, OutOfOffice);
+            compOffLedgerService.rebuild(empId);
+        }
+        return empIds.size();
+    }
+
+    public List<LeaveLedgerCheckResponse> verifyAll() {
+        log.debug("Inside verifyAll() of LeaveLedgerMaintenanceService class");
+        List<LeaveLedgerCheckResponse> inconsistencies = new ArrayList<>();
+        for (Long empId : employeeRepository.findAllIds()) {
+            LeaveLedgerCheckResponse leaveLedgerCheckResponse = leaveLedgerService.verify(empId, OutOfOffice);
+            if (leaveLedgerCheckResponse != null) {
+                inconsistencies.add(leaveLedgerCheckResponse);
+            }
+        }
+        return inconsistencies;
+    }
+}
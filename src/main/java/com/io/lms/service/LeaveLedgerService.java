@@ -0,0 +1,178 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.LeaveLedgerCheckResponse;
+import com.io.lms.model.Employee;
+import com.io.lms.model.Leave;
+import com.io.lms.model.LeaveLedgerEntry;
+import com.io.lms.model.LeaveLedgerEntryId;
+import com.io.lms.repository.LeaveLedgerRepository;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.Utility;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the per-employee, per-type, per-year leave ledger. Leave services debit it in the
+ * transaction that saves the leave, so reading a balance is a primary key lookup of the current year.
+ * Years are opened lazily by carrying the previous remaining forward; an employee without any entry
+ * is built from the leave history. Reads open years too, so two requests may open the same year at once:
+ * years are opened with an insert that leaves an existing row alone, and the row is read back, so the
+ * request that lost keeps whatever the other one wrote.
+ */
+@Service
+@Transactional
+@Slf4j
+public class LeaveLedgerService {
+
+    @Autowired
+    LeaveLedgerRepository leaveLedgerRepository;
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    EmployeeService employeeService;
+
+    public Long getRemaining(Long empId, String leaveType) {
+        log.debug("Inside getRemaining() of LeaveLedgerService class");
+        return getCurrentEntry(empId, leaveType).getRemaining();
+    }
+
+    /**
+     * Records {@code leaveCount} days taken against the year the leave starts in (the first ledger year
+     * for earlier dates, the current year for later ones) and lowers the remaining of that year and every later year.
+     */
+    public void debit(Long empId, String leaveType, int startDate, Long leaveCount) {
+        log.debug("Inside debit() of LeaveLedgerService class");
+        LeaveLedgerEntry currentEntry = getCurrentEntry(empId, leaveType);
+        int year = Math.min(EpochDays.year(startDate), currentEntry.getId().getYear());
+        List<LeaveLedgerEntry> entries = leaveLedgerRepository.findAllByIdEmployeeIdAndIdLeaveTypeAndIdYearGreaterThanEqualOrderByIdYear(empId, leaveType, year);
+        LeaveLedgerEntry debitedEntry = entries.get(0);
+        debitedEntry.setTaken(debitedEntry.getTaken() + leaveCount);
+        for (LeaveLedgerEntry entry : entries) {
+            entry.setRemaining(entry.getRemaining() - leaveCount);
+        }
+    }
+
+    /**
+     * Recomputes every ledger entry of the employee for the leave type from the joining date and the
+     * leave history, and returns the entries ordered by year.
+     */
+    public List<LeaveLedgerEntry> rebuild(Long empId, String leaveType) {
+        log.debug("Inside rebuild() of LeaveLedgerService class");
+        Map<Integer, LeaveLedgerEntry> existingEntries = new HashMap<>();
+        for (LeaveLedgerEntry entry : leaveLedgerRepository.findAllByIdEmployeeIdAndIdLeaveTypeOrderByIdYear(empId, leaveType)) {
+            existingEntries.put(entry.getId().getYear(), entry);
+        }
+        List<LeaveLedgerEntry> entries = new ArrayList<>();
+        for (LeaveLedgerEntry derivedEntry : deriveEntries(empId, leaveType)) {
+            LeaveLedgerEntry entry = existingEntries.remove(derivedEntry.getId().getYear());
+            if (entry == null) {
+                entry = openEntry(derivedEntry);
+            }
+            entry.setAccrued(derivedEntry.getAccrued());
+            entry.setTaken(derivedEntry.getTaken());
+            entry.setRemaining(derivedEntry.getRemaining());
+            entries.add(entry);
+        }
+        leaveLedgerRepository.deleteAll(existingEntries.values());
+        return entries;
+    }
+
+    /**
+     * Compares the latest ledger entry with the balance derived from the joining date and the leave
+     * history. Returns {@code null} when they agree or when the employee has no ledger yet.
+     */
+    @Transactional(readOnly = true)
+    public LeaveLedgerCheckResponse verify(Long empId, String leaveType) {
+        log.debug("Inside verify() of LeaveLedgerService class");
+        LeaveLedgerEntry latestEntry = leaveLedgerRepository.findFirstByIdEmployeeIdAndIdLeaveTypeOrderByIdYearDesc(empId, leaveType);
+        if (latestEntry == null) {
+            return null;
+        }
+        Employee employee = employeeService.findEmployeeById(empId);
+        int joiningDate = EpochDays.of(employee.getJoiningDate());
+        int latestYear = latestEntry.getId().getYear();
+        long expectedRemaining = 0L;
+        for (int year = EpochDays.year(joiningDate); year <= latestYear; year++) {
+            expectedRemaining += Utility.getAccruedLeaveInYear(joiningDate, year);
+        }
+        expectedRemaining -= leaveRepository.sumLeaveCountByEmployeeIdAndLeaveType(empId, leaveType);
+        if (expectedRemaining == latestEntry.getRemaining()) {
+            return null;
+        }
+        log.error("Leave ledger of employee " + empId + " for " + leaveType + " is inconsistent");
+        return new LeaveLedgerCheckResponse(empId, leaveType, latestYear, latestEntry.getRemaining(), expectedRemaining);
+    }
+
+    private LeaveLedgerEntry getCurrentEntry(Long empId, String leaveType) {
+        int currentYear = EpochDays.year(EpochDays.today());
+        LeaveLedgerEntry entry = leaveLedgerRepository.findById(new LeaveLedgerEntryId(empId, leaveType, currentYear)).orElse(null);
+        if (entry != null) {
+            return entry;
+        }
+        LeaveLedgerEntry latestEntry = leaveLedgerRepository.findFirstByIdEmployeeIdAndIdLeaveTypeOrderByIdYearDesc(empId, leaveType);
+        if (latestEntry == null) {
+            // rows opened meanwhile by another request are kept as they are
+            for (LeaveLedgerEntry derivedEntry : deriveEntries(empId, leaveType)) {
+                entry = openEntry(derivedEntry);
+            }
+            return entry;
+        }
+        if (latestEntry.getId().getYear() > currentYear) {
+            return latestEntry;
+        }
+        // carry the balance forward into the years opened since the last entry
+        int joiningDate = EpochDays.of(employeeService.findEmployeeById(empId).getJoiningDate());
+        long remaining = latestEntry.getRemaining();
+        for (int year = latestEntry.getId().getYear() + 1; year <= currentYear; year++) {
+            long accrued = Utility.getAccruedLeaveInYear(joiningDate, year);
+            remaining += accrued;
+            entry = openEntry(new LeaveLedgerEntry(new LeaveLedgerEntryId(empId, leaveType, year), accrued, 0L, remaining));
+        }
+        return entry;
+    }
+
+    /**
+     * The entries of the employee for the leave type, from the joining year to the current year, as the
+     * joining date and the leave history give them.
+     */
+    private List<LeaveLedgerEntry> deriveEntries(Long empId, String leaveType) {
+        Employee employee = employeeService.findEmployeeById(empId);
+        int joiningDate = EpochDays.of(employee.getJoiningDate());
+        int joiningYear = EpochDays.year(joiningDate);
+        int currentYear = Math.max(joiningYear, EpochDays.year(EpochDays.today()));
+
+        long[] taken = new long[currentYear - joiningYear + 1];
+        for (Leave leave : leaveRepository.findAllByEmployeeId(empId)) {
+            if (leaveType.equals(leave.getLeaveType())) {
+                int year = Math.min(Math.max(EpochDays.year(EpochDays.of(leave.getStartDate())), joiningYear), currentYear);
+                taken[year - joiningYear] += leave.getLeaveCount();
+            }
+        }
+        List<LeaveLedgerEntry> entries = new ArrayList<>();
+        long remaining = 0L;
+        for (int year = joiningYear; year <= currentYear; year++) {
+            long accrued = Utility.getAccruedLeaveInYear(joiningDate, year);
+            remaining += accrued - taken[year - joiningYear];
+            entries.add(new LeaveLedgerEntry(new LeaveLedgerEntryId(empId, leaveType, year), accrued, taken[year - joiningYear], remaining));
+        }
+        return entries;
+    }
+
+    /**
+     * Inserts {@code entry} unless its year is open already, and returns the stored row, whichever request wrote it.
+     */
+    private LeaveLedgerEntry openEntry(LeaveLedgerEntry entry) {
+        LeaveLedgerEntryId id = entry.getId();
+        leaveLedgerRepository.insertIfAbsent(id.getEmployeeId(), id.getLeaveType(), id.getYear(),
+                entry.getAccrued(), entry.getTaken(), entry.getRemaining());
+        return leaveLedgerRepository.findById(id).get();
+    }
+}
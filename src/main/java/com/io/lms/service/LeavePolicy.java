@@ -0,0 +1,233 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.LeaveRequest;
+import com.io.lms.model.Leave;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.LeaveApplyEvents;
+import com.io.lms.util.Utility;
+import com.io.lms.util.ValidationResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link LeavePolicyDefinition} compiled by {@link LeavePolicyRegistry}. Limits, messages and collaborators
+ * are bound into the rules when the policy is compiled, so checking a request parses its dates once and runs
+ * the rules in order, without looking anything up by name. Immutable and shared by all requests.
+ * <p>
+ * Every constraint, the common date checks included, is timed under {@value #CONSTRAINT_TIMER} and counts the
+ * requests it rejects under {@value #REJECTION_COUNTER}, both tagged with the leave type and constraint name.
+ * Date parsing, day counting and every constraint also emit a {@link LeaveApplyEvents} flight recorder event.
+ */
+public final class LeavePolicy {
+
+    /**
+     * One compiled rule; adds a violation instead of throwing.
+     */
+    interface Rule {
+        void check(LeaveApplication leaveApplication, ValidationResult validationResult);
+    }
+
+    /**
+     * A rule with its name and meters, registered when the policy is compiled.
+     */
+    static final class Constraint {
+        private final String type;
+        private final String name;
+        private final Rule rule;
+        private final Timer timer;
+        private final Counter rejections;
+
+        Constraint(String type, String name, Rule rule, MeterRegistry meterRegistry) {
+            this.type = type;
+            this.name = name;
+            this.rule = rule;
+            this.timer = constraintTimer(type, name, meterRegistry);
+            this.rejections = rejectionCounter(type, name, meterRegistry);
+        }
+
+        void check(LeaveApplication leaveApplication, ValidationResult validationResult) {
+            int violationCount = validationResult.getViolationCount();
+            LeaveApplyEvents.ConstraintCheck event = new LeaveApplyEvents.ConstraintCheck();
+            event.begin();
+            long start = System.nanoTime();
+            rule.check(leaveApplication, validationResult);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            boolean rejected = validationResult.getViolationCount() > violationCount;
+            if (rejected) {
+                rejections.increment();
+            }
+            event.constraint = name;
+            event.rejected = rejected;
+            event.commit(leaveApplication.employeeContext.getEmpId(), type, leaveApplication.rangeDays);
+        }
+    }
+
+    interface DayCounter {
+        long count(String location, int startDate, int endDate);
+    }
+
+    /**
+     * A request being checked, with the values the rules share.
+     */
+    static final class LeaveApplication {
+        final LeaveRequest leaveRequest;
+        final EmployeeContext employeeContext;
+        int startDate;
+        int endDate;
+        // 0 until the dates pass the common constraints
+        long rangeDays;
+        long leaveDemand;
+
+        private LeaveApplication(LeaveRequest leaveRequest, EmployeeContext employeeContext) {
+            this.leaveRequest = leaveRequest;
+            this.employeeContext = employeeContext;
+        }
+    }
+
+    static final String CONSTRAINT_TIMER = "lms.leave.constraint";
+    static final String REJECTION_COUNTER = "lms.leave.rejections";
+    // the start, end and common constraints every leave type checks before its own date rules
+    static final String DATES = "dates";
+
+    private final String type;
+    // rules on the employee alone
+    private final Constraint[] employeeRules;
+    // rules run once the leave dates pass the common constraints, with leaveDemand counted
+    private final Constraint[] dateRules;
+    private final Timer datesTimer;
+    private final Counter datesRejections;
+    private final DayCounter dayCounter;
+    private final Function<Long, Long> balance;
+    private final Consumer<Leave> onSaved;
+
+    LeavePolicy(String type, Constraint[] employeeRules, Constraint[] dateRules, DayCounter dayCounter,
+                Function<Long, Long> balance, Consumer<Leave> onSaved, MeterRegistry meterRegistry) {
+        this.type = type;
+        this.employeeRules = employeeRules;
+        this.dateRules = dateRules;
+        this.datesTimer = constraintTimer(type, DATES, meterRegistry);
+        this.datesRejections = rejectionCounter(type, DATES, meterRegistry);
+        this.dayCounter = dayCounter;
+        this.balance = balance;
+        this.onSaved = onSaved;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public ValidationResult check(LeaveRequest leaveRequest, EmployeeContext employeeContext, ValidationResult validationResult) {
+        checkApplication(leaveRequest, employeeContext, validationResult);
+        return validationResult;
+    }
+
+    /**
+     * Checks the request like {@link #check} and builds the leave from the dates and day count the check produced.
+     *
+     * @return the leave to save, or {@code null} with the reasons added to {@code validationResult}
+     */
+    public Leave buildLeave(LeaveRequest leaveRequest, EmployeeContext employeeContext, ValidationResult validationResult) {
+        int violationCount = validationResult.getViolationCount();
+        LeaveApplication leaveApplication = checkApplication(leaveRequest, employeeContext, validationResult);
+        if (validationResult.getViolationCount() > violationCount) {
+            return null;
+        }
+        Leave leave = new Leave();
+        leave.setEmployee(employeeContext.getEmployee());
+        leave.setLeaveType(type);
+        leave.setStartDate(EpochDays.toDate(leaveApplication.startDate));
+        leave.setEndDate(EpochDays.toDate(leaveApplication.endDate));
+        leave.setLeaveCount(leaveApplication.leaveDemand);
+        return leave;
+    }
+
+    private LeaveApplication checkApplication(LeaveRequest leaveRequest, EmployeeContext employeeContext, ValidationResult validationResult) {
+        LeaveApplication leaveApplication = new LeaveApplication(leaveRequest, employeeContext);
+        for (Constraint constraint : employeeRules) {
+            constraint.check(leaveApplication, validationResult);
+        }
+        long empId = employeeContext.getEmpId();
+        int violationCount = validationResult.getViolationCount();
+        long start = System.nanoTime();
+        LeaveApplyEvents.DateParsing dateParsingEvent = new LeaveApplyEvents.DateParsing();
+        dateParsingEvent.begin();
+        Integer startDate = Utility.parseEpochDay(leaveRequest.getStartDate(), "start-Date", validationResult);
+        Integer endDate = Utility.parseEpochDay(leaveRequest.getEndDate(), "end-Date", validationResult);
+        boolean parsed = startDate != null && endDate != null;
+        dateParsingEvent.commit(empId, type, parsed ? LeaveApplyEvents.rangeDays(startDate, endDate) : 0L);
+        if (parsed) {
+            LeaveApplyEvents.ConstraintCheck datesEvent = new LeaveApplyEvents.ConstraintCheck();
+            datesEvent.begin();
+            Utility.checkLeaveDates(startDate, endDate, employeeContext.getEmployee(), employeeContext.getLeaveIntervalIndex(), validationResult);
+            datesEvent.constraint = DATES;
+            datesEvent.rejected = validationResult.getViolationCount() > violationCount;
+            datesEvent.commit(empId, type, LeaveApplyEvents.rangeDays(startDate, endDate));
+        }
+        datesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (validationResult.getViolationCount() > violationCount) {
+            datesRejections.increment();
+            return leaveApplication;
+        }
+        leaveApplication.startDate = startDate;
+        leaveApplication.endDate = endDate;
+        leaveApplication.rangeDays = LeaveApplyEvents.rangeDays(startDate, endDate);
+        leaveApplication.leaveDemand = countDays(employeeContext, startDate, endDate);
+        for (Constraint constraint : dateRules) {
+            constraint.check(leaveApplication, validationResult);
+        }
+        return leaveApplication;
+    }
+
+    public long countDays(String location, int startDate, int endDate) {
+        return dayCounter.count(location, startDate, endDate);
+    }
+
+    /**
+     * {@link #countDays(String, int, int)} for the employee's location, recorded as a calendar count event.
+     */
+    public long countDays(EmployeeContext employeeContext, int startDate, int endDate) {
+        LeaveApplyEvents.CalendarCount event = new LeaveApplyEvents.CalendarCount();
+        event.begin();
+        String location = employeeContext.getEmployee().getLocation();
+        long days = dayCounter.count(location, startDate, endDate);
+        event.location = location;
+        event.commit(employeeContext.getEmpId(), type, LeaveApplyEvents.rangeDays(startDate, endDate));
+        return days;
+    }
+
+    public Long getBalance(Long empId) {
+        return balance.apply(empId);
+    }
+
+    public Long getBalance(EmployeeContext employeeContext) {
+        return employeeContext.getLeaveBalance(type, (leaveType) -> balance.apply(employeeContext.getEmpId()));
+    }
+
+    /**
+     * Called in the saving transaction once {@code leave} is persisted.
+     */
+    public void leaveSaved(Leave leave) {
+        onSaved.accept(leave);
+    }
+
+    private static Timer constraintTimer(String type, String constraint, MeterRegistry meterRegistry) {
+        return Timer.builder(CONSTRAINT_TIMER)
+                .description("Time to check one constraint of a leave request")
+                .tag("type", type)
+                .tag("constraint", constraint)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectionCounter(String type, String constraint, MeterRegistry meterRegistry) {
+        return Counter.builder(REJECTION_COUNTER)
+                .description("Leave requests rejected by a constraint")
+                .tag("type", type)
+                .tag("constraint", constraint)
+                .register(meterRegistry);
+    }
+}
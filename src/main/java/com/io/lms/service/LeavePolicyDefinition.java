@@ -0,0 +1,90 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.LeaveRequest;
+import com.io.lms.model.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.function.Function;
+
+/**
+ * Declarative rules of one leave type, bound from {@code lms.leave.policies[n].*} and compiled by
+ * {@link LeavePolicyRegistry} into a {@link LeavePolicy}. A {@code null} limit does not apply.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeavePolicyDefinition {
+    private String type;
+    // null when employees of any gender may apply
+    private Gender eligibleGender;
+    // leaves of this type an employee may take over their whole employment
+    private Integer maxOccurrences;
+    // days a single leave may last; also the balance of a FIXED balance type
+    private Long maxDays;
+    private DayCounting dayCounting = DayCounting.WORKING_DAYS;
+    private BalanceSource balance = BalanceSource.FIXED;
+    private AnchorDate anchorDate = AnchorDate.NONE;
+    // the leave must end within this many days after the anchor date
+    private Integer maxDaysAfterAnchor;
+    // working days the employee must have served in the lookback window before the anchor date
+    private Integer minServedWorkingDays;
+    private Integer servedLookbackYears = 1;
+
+    public enum DayCounting {
+        CALENDAR_DAYS, WORKING_DAYS
+    }
+
+    public enum BalanceSource {
+        // maxDays, available afresh for every leave
+        FIXED,
+        // the accrued balance kept by LeaveLedgerService, debited by every leave
+        LEDGER,
+        // comp-off credits earned by extra work, kept and redeemed by CompOffLedgerService
+        COMP_OFF
+    }
+
+    /**
+     * A date of the request the leave is tied to.
+     */
+    public enum AnchorDate {
+        NONE(null, null, false),
+        EXPECTED_DELIVERY_DATE("expected-delivery-date", "Expected Date of delivery", false),
+        CHILD_DATE_OF_BIRTH("childDOB", "Child's D.O.B", true);
+
+        private final String field;
+        private final String description;
+        // whether the anchor comes on or before the leave start; otherwise on or after it
+        private final boolean beforeStart;
+
+        AnchorDate(String field, String description, boolean beforeStart) {
+            this.field = field;
+            this.description = description;
+            this.beforeStart = beforeStart;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public boolean isBeforeStart() {
+            return beforeStart;
+        }
+
+        public Function<LeaveRequest, String> reader() {
+            switch (this) {
+                case EXPECTED_DELIVERY_DATE:
+                    return LeaveRequest::getExpectedDeliveryDate;
+                case CHILD_DATE_OF_BIRTH:
+                    return LeaveRequest::getChildDOB;
+                default:
+                    return (leaveRequest) -> null;
+            }
+        }
+    }
+}
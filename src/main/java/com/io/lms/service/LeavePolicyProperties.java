@@ -0,0 +1,19 @@
+package com.io.lms.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leave types configured under {@code lms.leave.policies}, on top of the built-in ones in
+ * {@link LeavePolicyRegistry#defaultPolicies()}; a configured type replaces a built-in type of the same name.
+ */
+@Component
+@ConfigurationProperties(prefix = "lms.leave")
+@Data
+public class LeavePolicyProperties {
+    private List<LeavePolicyDefinition> policies = new ArrayList<>();
+}
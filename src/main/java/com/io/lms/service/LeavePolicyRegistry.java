@@ -0,0 +1,228 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.LeaveRequest;
+import com.io.lms.dto.LeaveResponse;
+import com.io.lms.model.Gender;
+import com.io.lms.model.Leave;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.service.LeavePolicy.Constraint;
+import com.io.lms.service.LeavePolicy.DayCounter;
+import com.io.lms.service.LeavePolicy.Rule;
+import com.io.lms.service.LeavePolicyDefinition.AnchorDate;
+import com.io.lms.service.LeavePolicyDefinition.BalanceSource;
+import com.io.lms.service.LeavePolicyDefinition.DayCounting;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.Utility;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.io.lms.constant.Constants.COMP_OFF;
+import static com.io.lms.constant.Constants.MATERNITY;
+import static com.io.lms.constant.Constants.OutOfOffice;
+import static com.io.lms.constant.Constants.PATERNITY;
+
+/**
+ * Every leave type, compiled once from {@link #defaultPolicies()} and {@link LeavePolicyProperties} into an
+ * immutable map of {@link LeavePolicy}. Policies are compiled in the constructor, so the registry is complete
+ * as soon as it exists; the repositories and services the rules call are only used once requests arrive.
+ */
+@Component
+@Slf4j
+public class LeavePolicyRegistry {
+
+    private static final String NO_WORKING_DAYS = "All days in leave request is either a holiday or a non-working-day";
+    private static final String INSUFFICIENT_BALANCE = "Leave demanded is greater than total leave available, Leave balance is lesser";
+
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    LeaveLedgerService leaveLedgerService;
+    @Autowired
+    EmployeeService employeeService;
+    @Autowired
+    CompOffLedgerService compOffLedgerService;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LeavePolicy> policies;
+
+    public LeavePolicyRegistry(LeavePolicyProperties leavePolicyProperties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Map<String, LeavePolicy> compiled = new LinkedHashMap<>();
+        for (LeavePolicyDefinition leavePolicyDefinition : defaultPolicies()) {
+            LeavePolicy leavePolicy = compile(leavePolicyDefinition);
+            compiled.put(leavePolicy.getType(), leavePolicy);
+        }
+        for (LeavePolicyDefinition leavePolicyDefinition : leavePolicyProperties.getPolicies()) {
+            LeavePolicy leavePolicy = compile(leavePolicyDefinition);
+            compiled.put(leavePolicy.getType(), leavePolicy);
+        }
+        this.policies = Collections.unmodifiableMap(compiled);
+        log.info("Compiled leave policies: " + policies.keySet());
+    }
+
+    /**
+     * The built-in leave types.
+     */
+    public static List<LeavePolicyDefinition> defaultPolicies() {
+        return Arrays.asList(
+                new LeavePolicyDefinition(OutOfOffice, null, null, null, DayCounting.WORKING_DAYS, BalanceSource.LEDGER,
+                        AnchorDate.NONE, null, null, 1),
+                new LeavePolicyDefinition(MATERNITY, Gender.FEMALE, 2, 26L * 7, DayCounting.CALENDAR_DAYS, BalanceSource.FIXED,
+                        AnchorDate.EXPECTED_DELIVERY_DATE, null, 80, 1),
+                new LeavePolicyDefinition(PATERNITY, Gender.MALE, 2, 10L, DayCounting.WORKING_DAYS, BalanceSource.FIXED,
+                        AnchorDate.CHILD_DATE_OF_BIRTH, 365, null, 1),
+                new LeavePolicyDefinition(COMP_OFF, null, null, null, DayCounting.WORKING_DAYS, BalanceSource.COMP_OFF,
+                        AnchorDate.NONE, null, null, 1));
+    }
+
+    public LeavePolicy getPolicy(String type) {
+        log.debug("Inside getPolicy() of LeavePolicyRegistry class");
+        LeavePolicy leavePolicy = policies.get(type);
+        if (leavePolicy == null) throw new RuntimeException("Leave Type not found: " + type);
+        return leavePolicy;
+    }
+
+    public Set<String> getTypes() {
+        return policies.keySet();
+    }
+
+    /**
+     * The key a leave type is registered under: trimmed and lower case.
+     */
+    public static String normalizeType(String type) {
+        return type.trim().toLowerCase();
+    }
+
+    private LeavePolicy compile(LeavePolicyDefinition leavePolicyDefinition) {
+        if (leavePolicyDefinition.getType() == null || leavePolicyDefinition.getType().trim().isEmpty()) {
+            throw new IllegalStateException("Leave policy without a type: " + leavePolicyDefinition);
+        }
+        String type = normalizeType(leavePolicyDefinition.getType());
+        boolean workingDays = leavePolicyDefinition.getDayCounting() != DayCounting.CALENDAR_DAYS;
+        BalanceSource balanceSource = leavePolicyDefinition.getBalance();
+        boolean ledger = balanceSource == BalanceSource.LEDGER;
+        Long maxDays = leavePolicyDefinition.getMaxDays();
+        List<Constraint> employeeRules = new ArrayList<>();
+        List<Constraint> dateRules = new ArrayList<>();
+
+        if (leavePolicyDefinition.getEligibleGender() != null) {
+            Gender gender = leavePolicyDefinition.getEligibleGender();
+            String violation = "Employee is not " + gender.name().toLowerCase();
+            employeeRules.add(new Constraint(type, "gender", (leaveApplication, validationResult) -> {
+                if (leaveApplication.employeeContext.getEmployee().getGender() != gender) {
+                    validationResult.reject(violation);
+                }
+            }, meterRegistry));
+        }
+        if (leavePolicyDefinition.getMaxOccurrences() != null) {
+            long maxOccurrences = leavePolicyDefinition.getMaxOccurrences();
+            String violation = type + " leave cannot be granted more than " + maxOccurrences + " times";
+            employeeRules.add(new Constraint(type, "occurrences", (leaveApplication, validationResult) -> {
+                EmployeeContext employeeContext = leaveApplication.employeeContext;
+                long count = employeeContext.getLeaveCount(type, (leaveType) -> leaveRepository.countByEmployeeIdAndLeaveType(employeeContext.getEmpId(), leaveType));
+                if (count >= maxOccurrences) {
+                    validationResult.reject(violation);
+                }
+            }, meterRegistry));
+        }
+
+        DayCounter dayCounter = workingDays ? Utility::getTotalWorkingDays : (location, startDate, endDate) -> Utility.getDaysCount(startDate, endDate);
+        Function<Long, Long> balance;
+        Consumer<Leave> onSaved;
+        if (ledger) {
+            balance = (empId) -> leaveLedgerService.getRemaining(empId, type);
+            onSaved = (leave) -> leaveLedgerService.debit(leave.getEmployee().getId(), type, EpochDays.of(leave.getStartDate()), leave.getLeaveCount());
+        } else if (balanceSource == BalanceSource.COMP_OFF) {
+            balance = (empId) -> compOffLedgerService.getBalance(empId);
+            onSaved = (leave) -> compOffLedgerService.redeem(leave.getEmployee().getId(), leave.getLeaveCount());
+        } else {
+            Long fixedBalance = (maxDays == null) ? Long.MAX_VALUE : maxDays;
+            balance = (empId) -> fixedBalance;
+            onSaved = (leave) -> {
+            };
+        }
+
+        if (workingDays) {
+            dateRules.add(new Constraint(type, "working-days", (leaveApplication, validationResult) -> {
+                if (leaveApplication.leaveDemand == 0L) {
+                    validationResult.reject(NO_WORKING_DAYS);
+                }
+            }, meterRegistry));
+        }
+        if (balanceSource != BalanceSource.FIXED && maxDays != null) {
+            long maxDaysAtATime = maxDays;
+            String violation = "Cannot take more than " + maxDaysAtATime + " days of " + type + " leave at a time";
+            dateRules.add(new Constraint(type, "max-days", (leaveApplication, validationResult) -> {
+                if (leaveApplication.leaveDemand > maxDaysAtATime) {
+                    validationResult.reject(violation);
+                }
+            }, meterRegistry));
+        }
+        dateRules.add(new Constraint(type, "balance", (leaveApplication, validationResult) -> {
+            EmployeeContext employeeContext = leaveApplication.employeeContext;
+            if (leaveApplication.leaveDemand > 0L
+                    && leaveApplication.leaveDemand > employeeContext.getLeaveBalance(type, (leaveType) -> balance.apply(employeeContext.getEmpId()))) {
+                validationResult.reject(INSUFFICIENT_BALANCE);
+            }
+        }, meterRegistry));
+        AnchorDate anchor = leavePolicyDefinition.getAnchorDate();
+        if (anchor != null && anchor != AnchorDate.NONE) {
+            dateRules.add(new Constraint(type, anchor.name().toLowerCase().replace('_', '-'), compileAnchorRule(leavePolicyDefinition), meterRegistry));
+        }
+
+        return new LeavePolicy(type, employeeRules.toArray(new Constraint[0]), dateRules.toArray(new Constraint[0]), dayCounter, balance, onSaved,
+                meterRegistry);
+    }
+
+    private Rule compileAnchorRule(LeavePolicyDefinition leavePolicyDefinition) {
+        AnchorDate anchor = leavePolicyDefinition.getAnchorDate();
+        Function<LeaveRequest, String> anchorReader = anchor.reader();
+        String field = anchor.getField();
+        boolean beforeStart = anchor.isBeforeStart();
+        String orderViolation = anchor.getDescription() + (beforeStart ? " is after the leave start date" : " is before the leave start date");
+        Integer maxDaysAfterAnchor = leavePolicyDefinition.getMaxDaysAfterAnchor();
+        String windowViolation = "Leave must end within " + maxDaysAfterAnchor + " days of the " + anchor.getDescription();
+        Integer minServedWorkingDays = leavePolicyDefinition.getMinServedWorkingDays();
+        int lookbackYears = (leavePolicyDefinition.getServedLookbackYears() == null) ? 1 : leavePolicyDefinition.getServedLookbackYears();
+        String servedViolation = "Working days are less than " + minServedWorkingDays + " days preceding " + (12 * lookbackYears)
+                + " months from " + anchor.getDescription();
+        return (leaveApplication, validationResult) -> {
+            Integer anchorDate = Utility.parseEpochDay(anchorReader.apply(leaveApplication.leaveRequest), field, validationResult);
+            if (anchorDate == null) {
+                return;
+            }
+            if (beforeStart ? anchorDate > leaveApplication.startDate : anchorDate < leaveApplication.startDate) {
+                validationResult.reject(orderViolation);
+                return;
+            }
+            if (maxDaysAfterAnchor != null && leaveApplication.endDate - anchorDate > maxDaysAfterAnchor) {
+                validationResult.reject(windowViolation);
+            }
+            if (minServedWorkingDays != null
+                    && getServedWorkingDays(leaveApplication.employeeContext, anchorDate, leaveApplication.startDate, lookbackYears) < minServedWorkingDays) {
+                validationResult.reject(servedViolation);
+            }
+        };
+    }
+
+    // working days between the later of joining and the lookback start, and the earlier of the leave start and today, less leaves taken
+    private long getServedWorkingDays(EmployeeContext employeeContext, int anchorDate, int startDate, int lookbackYears) {
+        int from = Math.max(EpochDays.of(employeeContext.getEmployee().getJoiningDate()), EpochDays.plusYears(anchorDate, -lookbackYears));
+        int to = Math.min(startDate, EpochDays.today());
+        long totalWorkingDays = Utility.getTotalWorkingDays(employeeContext.getEmployee().getLocation(), from, to);
+        List<LeaveResponse> leaveResponses = employeeService.getDateSpecificLeaveHistory(employeeContext, from, to);
+        long totalLeavesTaken = leaveResponses.stream().mapToLong(LeaveResponse::getLeaveCount).sum();
+        return totalWorkingDays - totalLeavesTaken;
+    }
+}
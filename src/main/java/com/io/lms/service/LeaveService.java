@@ -2,7 +2,10 @@ package com.io.lms.service;
 
 import com.io.lms.dto.LeaveRequest;
 import com.io.lms.dto.LeaveResponse;
+import com.io.lms.exception.LeaveConstraintFailException;
 import com.io.lms.model.Leave;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.ValidationResult;
 
 import java.text.ParseException;
 import java.util.Date;
@@ -12,17 +15,60 @@ public interface LeaveService {
 
     LeaveResponse enterNewLeaveRequest(LeaveRequest leaveRequest, Long empId) throws ParseException;
 
+    /**
+     * Applies the leave, or returns {@code null} with the reasons added to {@code validationResult}.
+     */
+    LeaveResponse enterNewLeaveRequest(LeaveRequest leaveRequest, Long empId, ValidationResult validationResult);
+
     Long getLeaveBalance(Long empId) throws ParseException;
 
+    default Long getLeaveBalance(EmployeeContext employeeContext) throws ParseException {
+        return getLeaveBalance(employeeContext.getEmpId());
+    }
+
     default Long calculateTotalLeave(Long empId) throws ParseException {
         return 0L;
     }
 
-    Leave mapFromLeaveRequestToLeave(LeaveRequest leaveRequest) throws ParseException;
+    /**
+     * Checks the request like {@link #checkLeaveRequest} and builds the leave from the dates and day count the
+     * check produced, or returns {@code null} with the reasons added to {@code validationResult}.
+     */
+    Leave mapFromLeaveRequestToLeave(LeaveRequest leaveRequest, EmployeeContext employeeContext, ValidationResult validationResult);
 
-    boolean validateLeaveRequest(LeaveRequest leaveRequest) throws ParseException;
+    default boolean validateLeaveRequest(LeaveRequest leaveRequest, EmployeeContext employeeContext) throws ParseException {
+        checkLeaveRequest(leaveRequest, employeeContext, new ValidationResult()).throwIfInvalid(LeaveConstraintFailException::new);
+        return true;
+    }
+
+    /**
+     * Checks the request against every rule of this leave type, the balance included, adding each violation to
+     * {@code validationResult} instead of throwing. Rules that depend on the leave dates are checked once the
+     * dates themselves pass.
+     */
+    ValidationResult checkLeaveRequest(LeaveRequest leaveRequest, EmployeeContext employeeContext, ValidationResult validationResult);
 
-    Long getNetLeaveCount(Date startDate, Date endDate) throws ParseException;
+    default Long getNetLeaveCount(Date startDate, Date endDate) {
+        return getNetLeaveCount(EpochDays.of(startDate), EpochDays.of(endDate));
+    }
 
-    boolean isLeaveDemandedAvailable(Long leaveDemand, Long empId) throws ParseException;
+    /**
+     * Leave count on the calendar of the default location.
+     */
+    default Long getNetLeaveCount(int startEpochDay, int endEpochDay) {
+        return getNetLeaveCount(null, startEpochDay, endEpochDay);
+    }
+
+    /**
+     * Leave count on the holiday calendar of {@code location}; {@code null} means the default location.
+     */
+    Long getNetLeaveCount(String location, int startEpochDay, int endEpochDay);
+
+    boolean isLeaveDemandedAvailable(Long leaveDemand, EmployeeContext employeeContext) throws ParseException;
+
+    /**
+     * Called in the saving transaction once {@code leave} is persisted.
+     */
+    default void leaveSaved(Leave leave) {
+    }
 }
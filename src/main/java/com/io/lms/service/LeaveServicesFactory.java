@@ -2,9 +2,11 @@ package com.io.lms.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,20 +14,46 @@ import java.util.Map;
 @Service
 @Slf4j
 public class LeaveServicesFactory {
-    private static final Map<String, LeaveService> leaveServiceCache = new HashMap<>();
+    private Map<String, LeaveService> leaveServiceCache = Collections.emptyMap();
     @Autowired
     private List<LeaveService> services;
+    @Autowired
+    private LeavePolicyRegistry leavePolicyRegistry;
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
 
+    /**
+     * Registers the leave service beans, then a {@link PolicyLeaveService} for every configured leave type
+     * that has no bean of its own. Those are initialized through the bean factory so they get their
+     * dependencies, their policy and the transactional proxy like any other service.
+     */
     @PostConstruct
     public void initMyServiceCache() {
+        Map<String, LeaveService> cache = new HashMap<>();
         for (LeaveService service : services) {
-            leaveServiceCache.put(service.getType(), service);
+            cache.put(service.getType(), service);
         }
+        for (String type : leavePolicyRegistry.getTypes()) {
+            if (!cache.containsKey(type)) {
+                PolicyLeaveService service = new PolicyLeaveService(type);
+                beanFactory.autowireBean(service);
+                cache.put(type, (LeaveService) beanFactory.initializeBean(service, type + "LeaveService"));
+                log.info("Registered configured leave type: " + type);
+            }
+        }
+        leaveServiceCache = Collections.unmodifiableMap(cache);
     }
 
+    /**
+     * The service of {@code type} as a client sent it; a type already in its registered form is found without
+     * normalizing it.
+     */
     public LeaveService getService(String type) {
         log.debug("Inside getService() of LeaveServicesFactory class");
         LeaveService service = leaveServiceCache.get(type);
+        if (service == null && type != null) {
+            service = leaveServiceCache.get(LeavePolicyRegistry.normalizeType(type));
+        }
         if (service == null) throw new RuntimeException("Leave Type not found: " + type);
         return service;
     }
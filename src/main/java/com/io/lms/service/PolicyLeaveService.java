@@ -0,0 +1,159 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.LeaveRequest;
+import com.io.lms.dto.LeaveResponse;
+import com.io.lms.exception.LeaveConstraintFailException;
+import com.io.lms.model.Leave;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.LeaveApplyEvents;
+import com.io.lms.util.Utility;
+import com.io.lms.util.ValidationResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.annotation.PostConstruct;
+import javax.transaction.Transactional;
+import java.text.ParseException;
+
+/**
+ * A leave type run entirely by its compiled {@link LeavePolicy}. The built-in types subclass it so they can be
+ * injected by class; {@link LeaveServicesFactory} creates a plain instance for every other configured type.
+ * Checking a request, counting its days and reading the balance are timed under {@value #SERVICE_TIMER},
+ * tagged with the method and the leave type. The calls that load and save the leave emit
+ * {@link LeaveApplyEvents.Persistence} flight recorder events.
+ */
+@Transactional
+@Slf4j
+public class PolicyLeaveService implements LeaveService {
+
+    static final String SERVICE_TIMER = "lms.leave.service";
+
+    @Autowired
+    EmployeeService employeeService;
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    LeavePolicyRegistry leavePolicyRegistry;
+    @Autowired
+    MeterRegistry meterRegistry;
+    private final String type;
+    private LeavePolicy leavePolicy;
+    private Timer checkTimer;
+    private Timer netLeaveCountTimer;
+    private Timer balanceTimer;
+
+    public PolicyLeaveService(String type) {
+        this.type = type;
+    }
+
+    @PostConstruct
+    public void initLeavePolicy() {
+        leavePolicy = leavePolicyRegistry.getPolicy(type);
+        checkTimer = serviceTimer("checkLeaveRequest");
+        netLeaveCountTimer = serviceTimer("getNetLeaveCount");
+        balanceTimer = serviceTimer("getLeaveBalance");
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public LeaveResponse enterNewLeaveRequest(LeaveRequest leaveRequest, Long empId) throws ParseException {
+        log.debug("Inside enterNewLeaveRequest() of PolicyLeaveService class");
+        ValidationResult validationResult = new ValidationResult();
+        LeaveResponse leaveResponse = enterNewLeaveRequest(leaveRequest, empId, validationResult);
+        validationResult.throwIfInvalid(LeaveConstraintFailException::new);
+        return leaveResponse;
+    }
+
+    @Override
+    public LeaveResponse enterNewLeaveRequest(LeaveRequest leaveRequest, Long empId, ValidationResult validationResult) {
+        log.debug("Inside enterNewLeaveRequest() of PolicyLeaveService class");
+        leaveRequest.setEmpId(empId);
+        LeaveApplyEvents.Persistence loadEvent = persistenceEvent("loadEmployeeContext");
+        EmployeeContext employeeContext = employeeService.loadEmployeeContext(empId);
+        loadEvent.commit(empId, type, 0L);
+        Leave leave = mapFromLeaveRequestToLeave(leaveRequest, employeeContext, validationResult);
+        if (leave == null) {
+            return null;
+        }
+        long rangeDays = LeaveApplyEvents.rangeDays(EpochDays.of(leave.getStartDate()), EpochDays.of(leave.getEndDate()));
+        LeaveApplyEvents.Persistence versionEvent = persistenceEvent("incrementVersion");
+        employeeService.incrementVersion(employeeContext.getEmployee());
+        versionEvent.commit(empId, type, rangeDays);
+        LeaveApplyEvents.Persistence saveEvent = persistenceEvent("saveLeave");
+        leave = leaveRepository.save(leave);
+        saveEvent.commit(empId, type, rangeDays);
+        LeaveApplyEvents.Persistence savedEvent = persistenceEvent("leaveSaved");
+        leaveSaved(leave);
+        savedEvent.commit(empId, type, rangeDays);
+        return Utility.mapFromLeaveToLeaveResponse(leave);
+    }
+
+    @Override
+    public Long getLeaveBalance(Long empId) {
+        log.debug("Inside getLeaveBalance() of PolicyLeaveService class");
+        return balanceTimer.record(() -> leavePolicy.getBalance(empId));
+    }
+
+    @Override
+    public Long getLeaveBalance(EmployeeContext employeeContext) {
+        log.debug("Inside getLeaveBalance() of PolicyLeaveService class");
+        return balanceTimer.record(() -> leavePolicy.getBalance(employeeContext));
+    }
+
+    @Override
+    public void leaveSaved(Leave leave) {
+        log.debug("Inside leaveSaved() of PolicyLeaveService class");
+        leavePolicy.leaveSaved(leave);
+    }
+
+    @Override
+    public Leave mapFromLeaveRequestToLeave(LeaveRequest leaveRequest, EmployeeContext employeeContext, ValidationResult validationResult) {
+        log.debug("Inside mapFromLeaveRequestToLeave() of PolicyLeaveService class");
+        return checkTimer.record(() -> leavePolicy.buildLeave(leaveRequest, employeeContext, validationResult));
+    }
+
+    @Override
+    public ValidationResult checkLeaveRequest(LeaveRequest leaveRequest, EmployeeContext employeeContext, ValidationResult validationResult) {
+        log.debug("Inside checkLeaveRequest() of PolicyLeaveService class");
+        return checkTimer.record(() -> leavePolicy.check(leaveRequest, employeeContext, validationResult));
+    }
+
+    @Override
+    public Long getNetLeaveCount(String location, int startDate, int endDate) {
+        log.debug("Inside getNetLeaveCount() of PolicyLeaveService class");
+        return netLeaveCountTimer.record(() -> leavePolicy.countDays(location, startDate, endDate));
+    }
+
+    @Override
+    public boolean isLeaveDemandedAvailable(Long leaveDemand, EmployeeContext employeeContext) {
+        log.debug("Inside isLeaveDemandedAvailable() of PolicyLeaveService class");
+        Long leaveAvailable = getLeaveBalance(employeeContext);
+        if (leaveDemand > leaveAvailable) {
+            log.error("Leave demanded is greater than total leave available, Leave balance is lesser");
+            return false;
+        }
+        return true;
+    }
+
+    private static LeaveApplyEvents.Persistence persistenceEvent(String operation) {
+        LeaveApplyEvents.Persistence event = new LeaveApplyEvents.Persistence();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    private Timer serviceTimer(String method) {
+        return Timer.builder(SERVICE_TIMER)
+                .description("Time spent in a leave service method")
+                .tag("method", method)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
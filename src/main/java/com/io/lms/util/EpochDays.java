@@ -0,0 +1,176 @@
+package com.io.lms.util;
+
+import java.text.ParsePosition;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.util.Date;
+import java.util.TimeZone;
+
+import static com.io.lms.constant.Constants.DATE_TIME_FORMAT;
+import static java.time.temporal.ChronoField.*;
+
+/**
+ * Primitive date core: a date is the {@code int} number of days since 01-01-1970 in the JVM default zone.
+ * Conversions to and from epoch days do not allocate; the cached formatters are immutable and thread-safe.
+ */
+public final class EpochDays {
+
+    public static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+    private static final TimeZone TIME_ZONE = TimeZone.getDefault();
+    private static final ZoneId ZONE_ID = TIME_ZONE.toZoneId();
+    // accepts what SimpleDateFormat("dd-MM-yyyy") accepted, including trailing text such as a time of day
+    private static final DateTimeFormatter DATE_PARSER = new DateTimeFormatterBuilder()
+            .appendValue(DAY_OF_MONTH, 1, 2, SignStyle.NOT_NEGATIVE)
+            .appendLiteral('-')
+            .appendValue(MONTH_OF_YEAR, 1, 2, SignStyle.NOT_NEGATIVE)
+            .appendLiteral('-')
+            .appendValue(YEAR, 1, 9, SignStyle.NORMAL)
+            .toFormatter()
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT.replace("yyyy", "uuuu"))
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private EpochDays() {
+    }
+
+    public static int of(Date date) {
+        return ofEpochMilli(date.getTime());
+    }
+
+    public static int ofEpochMilli(long epochMilli) {
+        return (int) Math.floorDiv(epochMilli + TIME_ZONE.getOffset(epochMilli), MILLIS_PER_DAY);
+    }
+
+    public static int today() {
+        return ofEpochMilli(System.currentTimeMillis());
+    }
+
+    public static Date toDate(int epochDay) {
+        return new Date(startOfDayMillis(epochDay));
+    }
+
+    public static long startOfDayMillis(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(ZONE_ID).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Parses {@code dd-MM-yyyy}; text after the year is ignored.
+     *
+     * @throws java.time.format.DateTimeParseException if the text does not start with a valid date
+     */
+    public static int parse(CharSequence text) {
+        return (int) DATE_PARSER.parse(text, new ParsePosition(0)).getLong(EPOCH_DAY);
+    }
+
+    /**
+     * Parses {@code dd-MM-yyyy HH:mm:ss} into epoch milliseconds in the JVM default zone.
+     *
+     * @throws java.time.format.DateTimeParseException if the text is not a valid date-time
+     */
+    public static long parseDateTimeToEpochMilli(CharSequence text) {
+        return LocalDateTime.parse(text, DATE_TIME_FORMATTER).atZone(ZONE_ID).toInstant().toEpochMilli();
+    }
+
+    public static String formatDateTime(long epochMilli) {
+        return DATE_TIME_FORMATTER.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZONE_ID));
+    }
+
+    public static String format(int epochDay) {
+        int yearMonthDay = toYearMonthDay(epochDay);
+        int year = yearMonthDay >> 9;
+        if (year < 1000 || year > 9999) {
+            return String.format("%02d-%02d-%04d", yearMonthDay & 31, (yearMonthDay >> 5) & 15, year);
+        }
+        int month = (yearMonthDay >> 5) & 15;
+        int day = yearMonthDay & 31;
+        char[] chars = new char[10];
+        chars[0] = (char) ('0' + day / 10);
+        chars[1] = (char) ('0' + day % 10);
+        chars[2] = '-';
+        chars[3] = (char) ('0' + month / 10);
+        chars[4] = (char) ('0' + month % 10);
+        chars[5] = '-';
+        chars[6] = (char) ('0' + year / 1000);
+        chars[7] = (char) ('0' + year / 100 % 10);
+        chars[8] = (char) ('0' + year / 10 % 10);
+        chars[9] = (char) ('0' + year % 10);
+        return new String(chars);
+    }
+
+    /**
+     * Day of week numbered as {@link java.util.Calendar#DAY_OF_WEEK}: Sunday is 1 and Saturday is 7.
+     */
+    public static int dayOfWeek(int epochDay) {
+        // epoch day 0 (01-01-1970) was a Thursday
+        return Math.floorMod(epochDay + 4, 7) + 1;
+    }
+
+    public static int year(int epochDay) {
+        return toYearMonthDay(epochDay) >> 9;
+    }
+
+    /**
+     * Month of year from 1 (January) to 12 (December).
+     */
+    public static int month(int epochDay) {
+        return (toYearMonthDay(epochDay) >> 5) & 15;
+    }
+
+    public static int dayOfMonth(int epochDay) {
+        return toYearMonthDay(epochDay) & 31;
+    }
+
+    public static int of(int year, int month, int dayOfMonth) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Same day of month {@code years} years later (earlier when negative); 29 February maps to 28 February.
+     */
+    public static int plusYears(int epochDay, int years) {
+        int yearMonthDay = toYearMonthDay(epochDay);
+        int year = (yearMonthDay >> 9) + years;
+        int month = (yearMonthDay >> 5) & 15;
+        int day = yearMonthDay & 31;
+        if (month == 2 && day == 29 && !isLeapYear(year)) {
+            day = 28;
+        }
+        return of(year, month, day);
+    }
+
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Number of days from {@code startEpochDay} to {@code endEpochDay}, both inclusive.
+     */
+    public static long daysCount(int startEpochDay, int endEpochDay) {
+        return (long) endEpochDay - startEpochDay + 1;
+    }
+
+    // packs year << 9 | month << 5 | day, using the civil-from-days algorithm so no objects are created
+    private static int toYearMonthDay(int epochDay) {
+        int z = epochDay + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (year << 9) | (month << 5) | day;
+    }
+}
@@ -1,30 +1,55 @@
 package com.io.lms.util;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
 
 import java.text.ParseException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static com.io.lms.constant.Constants.SATURDAY;
 import static com.io.lms.constant.Constants.SUNDAY;
 
-@Component
+/**
+ * Immutable snapshot of the holiday calendar. The current snapshot is published through an
+ * {@link AtomicReference}, so readers never lock and never see a half-built calendar; a reload builds a
+ * new snapshot and swaps it in. Until the holidays are loaded from the database the built-in defaults apply.
+ */
 @Slf4j
-public class HolidaysAndNonWorkingDays {
+public final class HolidaysAndNonWorkingDays {
 
-    private static HolidaysAndNonWorkingDays holidaysAndNonWorkingDays = null;
-    private final String[] holidays = {"01-09-2020", "10-09-2020", "15-09-2020", "20-09-2020", "25-09-2020", "30-09-2020", "01-11-2020", "15-11-2020", "11-12-2020", "15-12-2020"};
-    private final Integer[] nonWorkingDays = {SUNDAY, SATURDAY};
-    private HashSet<Date> holidaysSet = new HashSet<>();
-    private HashSet<Integer> nonWorkingDaysSet = new HashSet<>();
+    public static final String[] DEFAULT_HOLIDAYS = {"01-09-2020", "10-09-2020", "15-09-2020", "20-09-2020", "25-09-2020", "30-09-2020", "01-11-2020", "15-11-2020", "11-12-2020", "15-12-2020"};
+    public static final Integer[] DEFAULT_NON_WORKING_DAYS = {SUNDAY, SATURDAY};
 
-    private HolidaysAndNonWorkingDays() {
-        List<Date> dates = Arrays.asList(holidays).stream().map((holiday) -> {
+    private static final AtomicReference<HolidaysAndNonWorkingDays> holidaysAndNonWorkingDays = new AtomicReference<>(defaults());
+
+    private final int[] holidayEpochDays;
+    private final int[] nonWorkingDays;
+
+    public HolidaysAndNonWorkingDays(Collection<Date> holidays, Collection<Integer> nonWorkingDays) {
+        this.holidayEpochDays = holidays.stream().filter(Objects::nonNull).mapToInt(EpochDays::of).sorted().distinct().toArray();
+        this.nonWorkingDays = nonWorkingDays.stream().filter(Objects::nonNull).mapToInt(Integer::intValue).sorted().distinct().toArray();
+    }
+
+    public static HolidaysAndNonWorkingDays getInstance() {
+        return holidaysAndNonWorkingDays.get();
+    }
+
+    /**
+     * Makes {@code calendar} the snapshot seen by every subsequent {@link #getInstance()} call.
+     */
+    public static void publish(HolidaysAndNonWorkingDays calendar) {
+        log.debug("Publishing holiday calendar with " + calendar.holidayEpochDays.length + " holidays");
+        holidaysAndNonWorkingDays.set(calendar);
+    }
+
+    public static List<Date> getDefaultHolidays() {
+        return Arrays.stream(DEFAULT_HOLIDAYS).map((holiday) -> {
             try {
                 return (Utility.stringToDate(holiday));
             } catch (ParseException e) {
@@ -32,31 +57,39 @@ public class HolidaysAndNonWorkingDays {
             }
             return null;
         }).filter((holiday) -> holiday != (null)).collect(Collectors.<Date>toList());
-        setHolidaysSet(new HashSet<Date>(dates));
-        setNonWorkingDaysSet(new HashSet<Integer>(Arrays.asList(nonWorkingDays)));
     }
 
-    public static HolidaysAndNonWorkingDays getInstance() {
-        if (holidaysAndNonWorkingDays == null) {
-            holidaysAndNonWorkingDays = new HolidaysAndNonWorkingDays();
-        }
-        return holidaysAndNonWorkingDays;
+    private static HolidaysAndNonWorkingDays defaults() {
+        return new HolidaysAndNonWorkingDays(getDefaultHolidays(), Arrays.asList(DEFAULT_NON_WORKING_DAYS));
     }
 
-    public HashSet<Date> getHolidaysSet() {
-        return holidaysSet;
+    /**
+     * @return the holidays as sorted, distinct epoch days; a copy the caller may modify
+     */
+    public int[] getHolidayEpochDays() {
+        return holidayEpochDays.clone();
     }
 
-    public void setHolidaysSet(HashSet<Date> holidaysSet) {
-        this.holidaysSet = holidaysSet;
+    /**
+     * @return a copy of the holidays; changing it does not affect the calendar
+     */
+    public HashSet<Date> getHolidaysSet() {
+        HashSet<Date> holidaysSet = new HashSet<>();
+        for (int epochDay : holidayEpochDays) {
+            holidaysSet.add(EpochDays.toDate(epochDay));
+        }
+        return holidaysSet;
     }
 
+    /**
+     * @return a copy of the non-working days of the week; changing it does not affect the calendar
+     */
     public HashSet<Integer> getNonWorkingDaysSet() {
+        HashSet<Integer> nonWorkingDaysSet = new HashSet<>();
+        for (int dayOfWeek : nonWorkingDays) {
+            nonWorkingDaysSet.add(dayOfWeek);
+        }
         return nonWorkingDaysSet;
     }
 
-    public void setNonWorkingDaysSet(HashSet<Integer> nonWorkingDaysSet) {
-        this.nonWorkingDaysSet = nonWorkingDaysSet;
-    }
-
 }
@@ -0,0 +1,88 @@
+package com.io.lms.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for the phases of a leave apply. They are disabled unless a recording enables them,
+ * for instance with the settings in {@code jfr/leave-apply.jfc}. While disabled, {@code begin()} and
+ * {@code shouldCommit()} do nothing and the shared fields are never filled, so the events cost next to nothing.
+ * <pre>
+ *     LeaveApplyEvents.DateParsing event = new LeaveApplyEvents.DateParsing();
+ *     event.begin();
+ *     ...
+ *     event.commit(empId, leaveType, LeaveApplyEvents.rangeDays(startDate, endDate));
+ * </pre>
+ */
+public final class LeaveApplyEvents {
+
+    private LeaveApplyEvents() {
+    }
+
+    @Category({"LMS", "Leave Apply"})
+    @Enabled(false)
+    @StackTrace(false)
+    public abstract static class LeaveApplyEvent extends Event {
+        @Label("Employee Id")
+        long empId;
+        @Label("Leave Type")
+        String leaveType;
+        @Label("Range Length")
+        @Description("Days from the leave start date to its end date, both included; 0 when the dates are not known")
+        long rangeDays;
+
+        /**
+         * Ends the event and records it, if the recording wants it.
+         */
+        public void commit(long empId, String leaveType, long rangeDays) {
+            if (shouldCommit()) {
+                this.empId = empId;
+                this.leaveType = leaveType;
+                this.rangeDays = rangeDays;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Days from {@code startDate} to {@code endDate}, both included; 0 for a range that ends before it starts.
+     */
+    public static long rangeDays(int startDate, int endDate) {
+        return (endDate < startDate) ? 0L : endDate - startDate + 1L;
+    }
+
+    @Name("com.io.lms.DateParsing")
+    @Label("Leave Date Parsing")
+    public static class DateParsing extends LeaveApplyEvent {
+    }
+
+    @Name("com.io.lms.CalendarCount")
+    @Label("Leave Calendar Count")
+    @Description("Working or calendar days counted for a leave")
+    public static class CalendarCount extends LeaveApplyEvent {
+        @Label("Location")
+        public String location;
+    }
+
+    @Name("com.io.lms.ConstraintCheck")
+    @Label("Leave Constraint Check")
+    public static class ConstraintCheck extends LeaveApplyEvent {
+        @Label("Constraint")
+        public String constraint;
+        @Label("Rejected")
+        public boolean rejected;
+    }
+
+    @Name("com.io.lms.Persistence")
+    @Label("Leave Persistence")
+    @Description("A repository or ledger call made while applying a leave")
+    public static class Persistence extends LeaveApplyEvent {
+        @Label("Operation")
+        public String operation;
+    }
+}
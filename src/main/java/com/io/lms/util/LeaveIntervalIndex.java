@@ -0,0 +1,141 @@
+package com.io.lms.util;
+
+import com.io.lms.model.Leave;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable interval index over the leaves of one employee, in epoch days.
+ * Intervals are sorted by start date and {@code maxEnds[i]} holds the largest end date among the
+ * first {@code i + 1} intervals, so an overlap test is one binary search and a range query visits
+ * only the intervals it reports (leaves of an employee never overlap each other).
+ */
+public class LeaveIntervalIndex {
+
+    private static final LeaveIntervalIndex EMPTY = new LeaveIntervalIndex(new int[0], new int[0], new Long[0], new String[0]);
+
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] maxEnds;
+    private final Long[] leaveIds;
+    private final String[] leaveTypes;
+
+    private LeaveIntervalIndex(int[] starts, int[] ends, Long[] leaveIds, String[] leaveTypes) {
+        this.starts = starts;
+        this.ends = ends;
+        this.leaveIds = leaveIds;
+        this.leaveTypes = leaveTypes;
+        this.maxEnds = new int[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            maxEnds[i] = (i == 0) ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+        }
+    }
+
+    public static LeaveIntervalIndex empty() {
+        return EMPTY;
+    }
+
+    public static LeaveIntervalIndex of(List<Leave> leaves) {
+        if (leaves == null || leaves.isEmpty()) {
+            return EMPTY;
+        }
+        List<Leave> sortedLeaves = new ArrayList<>(leaves);
+        sortedLeaves.sort((leave1, leave2) -> Integer.compare(EpochDays.of(leave1.getStartDate()), EpochDays.of(leave2.getStartDate())));
+        int size = sortedLeaves.size();
+        int[] starts = new int[size];
+        int[] ends = new int[size];
+        Long[] leaveIds = new Long[size];
+        String[] leaveTypes = new String[size];
+        for (int i = 0; i < size; i++) {
+            Leave leave = sortedLeaves.get(i);
+            starts[i] = EpochDays.of(leave.getStartDate());
+            ends[i] = EpochDays.of(leave.getEndDate());
+            leaveIds[i] = leave.getLeaveId();
+            leaveTypes[i] = leave.getLeaveType();
+        }
+        return new LeaveIntervalIndex(starts, ends, leaveIds, leaveTypes);
+    }
+
+    /**
+     * Copy of this index with one more leave inserted at its sorted position.
+     */
+    public LeaveIntervalIndex withLeave(Leave leave) {
+        int start = EpochDays.of(leave.getStartDate());
+        int position = upperBound(start);
+        int size = starts.length;
+        int[] newStarts = insert(starts, position, start);
+        int[] newEnds = insert(ends, position, EpochDays.of(leave.getEndDate()));
+        Long[] newLeaveIds = Arrays.copyOf(leaveIds, size + 1);
+        String[] newLeaveTypes = Arrays.copyOf(leaveTypes, size + 1);
+        System.arraycopy(leaveIds, position, newLeaveIds, position + 1, size - position);
+        System.arraycopy(leaveTypes, position, newLeaveTypes, position + 1, size - position);
+        newLeaveIds[position] = leave.getLeaveId();
+        newLeaveTypes[position] = leave.getLeaveType();
+        return new LeaveIntervalIndex(newStarts, newEnds, newLeaveIds, newLeaveTypes);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public boolean overlaps(int startEpochDay, int endEpochDay) {
+        int last = upperBound(endEpochDay) - 1;
+        return last >= 0 && maxEnds[last] >= startEpochDay;
+    }
+
+    /**
+     * Positions of the intervals overlapping {@code [startEpochDay, endEpochDay]}, in ascending start order.
+     */
+    public List<Integer> findOverlapping(int startEpochDay, int endEpochDay) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = upperBound(endEpochDay) - 1; i >= 0 && maxEnds[i] >= startEpochDay; i--) {
+            if (ends[i] >= startEpochDay) {
+                positions.add(i);
+            }
+        }
+        Collections.reverse(positions);
+        return positions;
+    }
+
+    public int getStartEpochDay(int position) {
+        return starts[position];
+    }
+
+    public int getEndEpochDay(int position) {
+        return ends[position];
+    }
+
+    public Long getLeaveId(int position) {
+        return leaveIds[position];
+    }
+
+    public String getLeaveType(int position) {
+        return leaveTypes[position];
+    }
+
+    // first position whose start is greater than the given epoch day
+    private int upperBound(int epochDay) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] insert(int[] array, int position, int value) {
+        int[] newArray = new int[array.length + 1];
+        System.arraycopy(array, 0, newArray, 0, position);
+        newArray[position] = value;
+        System.arraycopy(array, position, newArray, position + 1, array.length - position);
+        return newArray;
+    }
+}
@@ -0,0 +1,162 @@
+package com.io.lms.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holiday calendar of one location: a 366 bit set of holidays for every year from the first to the last
+ * holiday, plus a bit mask of the non-working days of the week. Testing a day is a single bit test and a
+ * calendar spanning twenty years takes under a kilobyte. The calendars of all locations are published
+ * together through an {@link AtomicReference}, so readers never lock.
+ */
+@Slf4j
+public final class LocationCalendar {
+
+    private static final int WORDS_PER_YEAR = 6; // 6 * 64 bits cover the 366 days of a leap year
+    private static final AtomicReference<Map<String, LocationCalendar>> locationCalendars = new AtomicReference<>(Collections.emptyMap());
+
+    private final String location;
+    private final int firstYear;
+    private final int yearCount;
+    private final long[] holidayBits;
+    private final int nonWorkingDaysMask;
+
+    public LocationCalendar(String location, Collection<Integer> holidayEpochDays, Collection<Integer> nonWorkingDays) {
+        log.debug("Building holiday calendar of location: " + location);
+        this.location = location;
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+        for (int epochDay : holidayEpochDays) {
+            int year = EpochDays.year(epochDay);
+            minYear = Math.min(minYear, year);
+            maxYear = Math.max(maxYear, year);
+        }
+        this.firstYear = holidayEpochDays.isEmpty() ? 0 : minYear;
+        this.yearCount = holidayEpochDays.isEmpty() ? 0 : maxYear - minYear + 1;
+        this.holidayBits = new long[yearCount * WORDS_PER_YEAR];
+        for (int epochDay : holidayEpochDays) {
+            int year = EpochDays.year(epochDay);
+            int dayOfYear = epochDay - EpochDays.of(year, 1, 1);
+            holidayBits[(year - firstYear) * WORDS_PER_YEAR + (dayOfYear >>> 6)] |= 1L << dayOfYear;
+        }
+        int mask = 0;
+        for (Integer dayOfWeek : nonWorkingDays) {
+            if (dayOfWeek < Calendar.SUNDAY || dayOfWeek > Calendar.SATURDAY) {
+                throw new IllegalArgumentException("Non-working day: " + dayOfWeek + " of location: " + location + " is not between 1 and 7");
+            }
+            mask |= 1 << dayOfWeek;
+        }
+        this.nonWorkingDaysMask = mask;
+    }
+
+    /**
+     * @return the published calendar of {@code location}, or {@code null} when there is none
+     */
+    public static LocationCalendar forLocation(String location) {
+        return location == null ? null : locationCalendars.get().get(location);
+    }
+
+    public static boolean isKnownLocation(String location) {
+        return forLocation(location) != null;
+    }
+
+    /**
+     * Replaces the calendars of all locations in a single write.
+     */
+    public static void publish(Map<String, LocationCalendar> calendars) {
+        log.debug("Publishing holiday calendars of " + calendars.size() + " locations");
+        locationCalendars.set(Collections.unmodifiableMap(calendars));
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public boolean isHoliday(int epochDay) {
+        int year = EpochDays.year(epochDay);
+        int yearIndex = year - firstYear;
+        if (yearIndex < 0 || yearIndex >= yearCount) {
+            return false;
+        }
+        int dayOfYear = epochDay - EpochDays.of(year, 1, 1);
+        return (holidayBits[yearIndex * WORDS_PER_YEAR + (dayOfYear >>> 6)] & (1L << dayOfYear)) != 0;
+    }
+
+    public boolean isNonWorkingDay(int epochDay) {
+        return (nonWorkingDaysMask & (1 << EpochDays.dayOfWeek(epochDay))) != 0;
+    }
+
+    public boolean isHolidayOrNonWorkingDay(int epochDay) {
+        return isNonWorkingDay(epochDay) || isHoliday(epochDay);
+    }
+
+    public long numOfHolidays(int startEpochDay, int endEpochDay) {
+        return countHolidays(startEpochDay, endEpochDay, false);
+    }
+
+    public long numOfNonWorkingDays(int startEpochDay, int endEpochDay) {
+        if (startEpochDay > endEpochDay) {
+            return 0L;
+        }
+        long daysCount = EpochDays.daysCount(startEpochDay, endEpochDay);
+        // every full week holds each non-working weekday once; only the remaining days are checked one by one
+        long fullWeeks = daysCount / 7;
+        long count = fullWeeks * Integer.bitCount(nonWorkingDaysMask);
+        for (int epochDay = (int) (startEpochDay + fullWeeks * 7); epochDay <= endEpochDay; epochDay++) {
+            count += isNonWorkingDay(epochDay) ? 1 : 0;
+        }
+        return count;
+    }
+
+    public long numOfHolidaysAndNonWorkingDays(int startEpochDay, int endEpochDay) {
+        return countHolidays(startEpochDay, endEpochDay, true);
+    }
+
+    public long numOfWorkingDays(int startEpochDay, int endEpochDay) {
+        if (startEpochDay > endEpochDay) {
+            return 0L;
+        }
+        return EpochDays.daysCount(startEpochDay, endEpochDay) - numOfNonWorkingDays(startEpochDay, endEpochDay)
+                - numOfHolidays(startEpochDay, endEpochDay) + numOfHolidaysAndNonWorkingDays(startEpochDay, endEpochDay);
+    }
+
+    // counts the holiday bits of the range a word at a time, only visiting single bits when they must fall on a non-working day
+    private long countHolidays(int startEpochDay, int endEpochDay, boolean onNonWorkingDaysOnly) {
+        if (startEpochDay > endEpochDay || yearCount == 0) {
+            return 0L;
+        }
+        int fromYear = Math.max(EpochDays.year(startEpochDay), firstYear);
+        int toYear = Math.min(EpochDays.year(endEpochDay), firstYear + yearCount - 1);
+        long count = 0L;
+        for (int year = fromYear; year <= toYear; year++) {
+            int firstDayOfYear = EpochDays.of(year, 1, 1);
+            int fromBit = Math.max(startEpochDay, firstDayOfYear) - firstDayOfYear;
+            int toBit = Math.min(endEpochDay, EpochDays.of(year, 12, 31)) - firstDayOfYear;
+            int base = (year - firstYear) * WORDS_PER_YEAR;
+            for (int word = fromBit >>> 6; word <= toBit >>> 6; word++) {
+                long bits = holidayBits[base + word];
+                if (word == fromBit >>> 6) {
+                    bits &= -1L << fromBit;
+                }
+                if (word == toBit >>> 6) {
+                    bits &= -1L >>> (63 - (toBit & 63));
+                }
+                if (!onNonWorkingDaysOnly) {
+                    count += Long.bitCount(bits);
+                    continue;
+                }
+                while (bits != 0) {
+                    int dayOfYear = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    count += isNonWorkingDay(firstDayOfYear + dayOfYear) ? 1 : 0;
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,38 @@
+package com.io.lms.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.io.lms.constant.Constants.CONFLICT_BACKOFF_MILLIS;
+import static com.io.lms.constant.Constants.MAX_CONFLICT_ATTEMPTS;
+
+/**
+ * Re-runs a transactional call that lost an optimistic version check to a concurrent write, up to
+ * {@link com.io.lms.constant.Constants#MAX_CONFLICT_ATTEMPTS} times in all. Each attempt must open its own
+ * transaction, so the call is made from outside any transaction. Retries wait a short random time that
+ * grows with the attempt, so colliding requests do not collide again in lockstep.
+ */
+@Slf4j
+public final class OptimisticRetry {
+
+    private OptimisticRetry() {
+    }
+
+    public static <T> T call(Callable<T> callable) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return callable.call();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_CONFLICT_ATTEMPTS) {
+                    log.error("Giving up after " + attempt + " attempts lost to concurrent writes: " + e.getMessage());
+                    throw e;
+                }
+                log.warn("Attempt " + attempt + " lost to a concurrent write, retrying: " + e.getMessage());
+                Thread.sleep(1 + ThreadLocalRandom.current().nextInt(CONFLICT_BACKOFF_MILLIS * attempt));
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.io.lms.util;
+
+/**
+ * JDBC work done on one thread between {@link #begin()} and {@link #end()}: statements executed, rows read and
+ * the time spent executing them, as counted by {@link StatementCountingDataSource}. Scopes nest; a scope that
+ * ends adds its counts to the one it was begun in. Not thread-safe; a scope belongs to the thread that began it.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementStats parent;
+    private long statements;
+    private long rows;
+    private long jdbcNanos;
+
+    private SqlStatementStats(SqlStatementStats parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Starts counting the JDBC work of the current thread.
+     */
+    public static SqlStatementStats begin() {
+        SqlStatementStats sqlStatementStats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(sqlStatementStats);
+        return sqlStatementStats;
+    }
+
+    /**
+     * The innermost scope of the current thread, or {@code null} when nothing is counting.
+     */
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stops counting and hands the thread back to the enclosing scope.
+     */
+    public void end() {
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+            parent.statements += statements;
+            parent.rows += rows;
+            parent.jdbcNanos += jdbcNanos;
+        }
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + (jdbcNanos / 1_000_000) + " ms";
+    }
+}
@@ -0,0 +1,132 @@
+package com.io.lms.util;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Wraps every {@link DataSource} bean so the connections, statements and result sets it hands out report to the
+ * thread's {@link SqlStatementStats}. Each {@code execute*} call is one statement, a JDBC batch included, and
+ * each row a result set moves to is one row. Outside a scope the proxies only delegate.
+ */
+@Component
+public class StatementCountingDataSource implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return wrap((DataSource) bean);
+        }
+        return bean;
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return (DataSource) proxy(dataSource, new Delegate(dataSource) {
+            @Override
+            Object returned(Method method, Object result) {
+                return (result instanceof Connection) ? proxy(result, new ConnectionDelegate(result)) : result;
+            }
+        });
+    }
+
+    private static Object proxy(Object target, Delegate delegate) {
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(), ClassUtils.getAllInterfaces(target), delegate);
+    }
+
+    /**
+     * Forwards every call to the target and lets subclasses wrap what comes back.
+     */
+    private static class Delegate implements InvocationHandler {
+        final Object target;
+
+        Delegate(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return returned(method, call(method, args));
+            }
+        }
+
+        Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        Object returned(Method method, Object result) {
+            return result;
+        }
+    }
+
+    private static class ConnectionDelegate extends Delegate {
+        ConnectionDelegate(Object connection) {
+            super(connection);
+        }
+
+        @Override
+        Object returned(Method method, Object result) {
+            return (result instanceof Statement) ? proxy(result, new StatementDelegate(result)) : result;
+        }
+    }
+
+    private static class StatementDelegate extends Delegate {
+        StatementDelegate(Object statement) {
+            super(statement);
+        }
+
+        @Override
+        Object call(Method method, Object[] args) throws Throwable {
+            SqlStatementStats sqlStatementStats = SqlStatementStats.current();
+            if (sqlStatementStats == null || !method.getName().startsWith("execute")) {
+                return super.call(method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return super.call(method, args);
+            } finally {
+                sqlStatementStats.statementExecuted(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        Object returned(Method method, Object result) {
+            return (result instanceof ResultSet) ? proxy(result, new ResultSetDelegate(result)) : result;
+        }
+    }
+
+    private static class ResultSetDelegate extends Delegate {
+        ResultSetDelegate(Object resultSet) {
+            super(resultSet);
+        }
+
+        @Override
+        Object returned(Method method, Object result) {
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                SqlStatementStats sqlStatementStats = SqlStatementStats.current();
+                if (sqlStatementStats != null) {
+                    sqlStatementStats.rowRead();
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.io.lms.util;
 
 import com.io.lms.dto.*;
+import com.io.lms.exception.EmployeeRegistrationDataException;
 import com.io.lms.exception.LeaveConstraintFailException;
 import com.io.lms.model.Employee;
 import com.io.lms.model.ExtraWork;
@@ -9,18 +10,18 @@ import com.io.lms.model.Leave;
 import lombok.extern.slf4j.Slf4j;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import static com.io.lms.constant.Constants.*;
 
 @Slf4j
 public class Utility {
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
 
 
     public static LeaveResponse mapFromLeaveToLeaveResponse(Leave leave) {
@@ -35,57 +36,64 @@ public class Utility {
     }
 
 
-    public static Long getDaysCount(Date startDate, Date endDate) {
+    public static long getDaysCount(Date startDate, Date endDate) {
         log.debug("Inside getDaysCount() of Utility class");
-        Long totalMilliSec = endDate.getTime() - startDate.getTime();
-        Long daysCount = totalMilliSec / MILLI_SEC_PER_DAY;
-        return daysCount + 1;
+        return getDaysCount(EpochDays.of(startDate), EpochDays.of(endDate));
+    }
+
+    public static long getDaysCount(int startEpochDay, int endEpochDay) {
+        log.debug("Inside getDaysCount() of Utility class");
+        return EpochDays.daysCount(startEpochDay, endEpochDay);
     }
 
     public static Date stringToDate(String str) throws ParseException {
         log.debug("Inside stringToDate() of Utility class");
-        str = str.trim();
-        SimpleDateFormat formatter = new SimpleDateFormat(DATE_FORMAT);
+        return EpochDays.toDate(stringToEpochDay(str));
+    }
+
+    public static int stringToEpochDay(String str) throws ParseException {
+        log.debug("Inside stringToEpochDay() of Utility class");
         try {
-            Date date = formatter.parse(str);
-            return date;
-        } catch (ParseException e) {
+            return EpochDays.parse(str.trim());
+        } catch (DateTimeParseException e) {
             log.error("Exception occurred while parsing the date: " + e);
-            throw e;
+            throw new ParseException(e.getMessage(), e.getErrorIndex());
         }
     }
 
     public static String dateTimeToString(Date date) {
         log.debug("Inside dateTimeToString() of Utility class");
-        SimpleDateFormat formatter = new SimpleDateFormat(DATE_TIME_FORMAT);
-        String str = formatter.format(date);
-        return str;
+        return EpochDays.formatDateTime(date.getTime());
     }
 
     public static Date stringToDateTime(String str) throws ParseException {
         log.debug("Inside stringToDateTime() of Utility class");
-        SimpleDateFormat formatter = new SimpleDateFormat(DATE_TIME_FORMAT);
+        return new Date(stringToEpochMilli(str));
+    }
+
+    public static long stringToEpochMilli(String str) throws ParseException {
+        log.debug("Inside stringToEpochMilli() of Utility class");
         try {
-            Date date = formatter.parse(str);
-            return date;
-        } catch (ParseException e) {
+            return EpochDays.parseDateTimeToEpochMilli(str.trim());
+        } catch (DateTimeParseException e) {
             log.error("Exception occurred while parsing the date: " + e);
-            throw e;
+            throw new ParseException(e.getMessage(), e.getErrorIndex());
         }
     }
 
     public static String dateToString(Date date) {
         log.debug("Inside dateToString() of Utility class");
-        SimpleDateFormat formatter = new SimpleDateFormat(DATE_FORMAT);
-        String str = formatter.format(date);
-        return str.trim();
+        return EpochDays.format(EpochDays.of(date));
     }
 
-    public static Date getCurrentDate() throws ParseException {
+    public static String epochDayToString(int epochDay) {
+        log.debug("Inside epochDayToString() of Utility class");
+        return EpochDays.format(epochDay);
+    }
+
+    public static Date getCurrentDate() {
         log.debug("Inside getCurrentDate() of Utility class");
-        DateTimeFormatter myFormatObj = DateTimeFormatter.ofPattern(DATE_FORMAT);
-        String s = LocalDate.now().format(myFormatObj);
-        return stringToDate(s);
+        return EpochDays.toDate(EpochDays.today());
     }
 
     public static Date getCurrentDateWithTime() {
@@ -96,66 +104,47 @@ public class Utility {
 
     public static int getDayOfWeek(Date date) {
         log.debug("Inside getDay() of Utility class");
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(date);
-        return cal.get(Calendar.DAY_OF_WEEK);
+        return EpochDays.dayOfWeek(EpochDays.of(date));
+    }
+
+    public static int getDayOfWeek(int epochDay) {
+        log.debug("Inside getDayOfWeek() of Utility class");
+        return EpochDays.dayOfWeek(epochDay);
+    }
+
+    public static int toEpochDay(Date date) {
+        log.debug("Inside toEpochDay() of Utility class");
+        return EpochDays.of(date);
     }
 
     public static Long numOfNonWorkingDayInRange(Date startDate, Date endDate) {
         log.debug("Inside numOfNonWorkingDayInRange() of Utility class");
-        HolidaysAndNonWorkingDays holidaysAndNonWorkingDays = HolidaysAndNonWorkingDays.getInstance();
-        log.debug("calculating no. of non-working-days in the range: " + startDate + " to " + endDate);
-        Long daysCount = 0L;
-        HashSet<Integer> nonWorkingDays = holidaysAndNonWorkingDays.getNonWorkingDaysSet();
-        Date current = startDate;
-        while (!current.after(endDate)) {
-            if (nonWorkingDays.contains(getDayOfWeek(current))) {
-                daysCount++;
-            }
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(current);
-            calendar.add(Calendar.DATE, 1);
-            current = calendar.getTime();
-        }
-        return daysCount;
+        return numOfNonWorkingDayInRange(EpochDays.of(startDate), EpochDays.of(endDate));
+    }
+
+    public static long numOfNonWorkingDayInRange(int startEpochDay, int endEpochDay) {
+        log.debug("Inside numOfNonWorkingDayInRange() of Utility class");
+        return WorkingDayCalendarIndex.getInstance().numOfNonWorkingDays(startEpochDay, endEpochDay);
     }
 
     public static Long numOfHolidaysInRange(Date startDate, Date endDate) {
         log.debug("Inside numOfHolidaysInRange() of Utility class");
-        HolidaysAndNonWorkingDays holidaysAndNonWorkingDays = HolidaysAndNonWorkingDays.getInstance();
-        log.debug("calculating no. of holidays for the date range: " + startDate + " to " + endDate);
-        Long daysCount = 0L;
-        HashSet<Date> holidays = holidaysAndNonWorkingDays.getHolidaysSet();
-        Date current = startDate;
-        while (!current.after(endDate)) {
-            if (holidays.contains(current)) {
-                daysCount++;
-            }
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(current);
-            calendar.add(Calendar.DATE, 1);
-            current = calendar.getTime();
-        }
-        return daysCount;
+        return numOfHolidaysInRange(EpochDays.of(startDate), EpochDays.of(endDate));
+    }
+
+    public static long numOfHolidaysInRange(int startEpochDay, int endEpochDay) {
+        log.debug("Inside numOfHolidaysInRange() of Utility class");
+        return WorkingDayCalendarIndex.getInstance().numOfHolidays(startEpochDay, endEpochDay);
     }
 
     public static Long numOfHolidaysAndNonWorkingDaysInRange(Date startDate, Date endDate) {
         log.debug("Inside numOfHolidaysAndNonWorkingDaysInRange() of Utility class");
-        HolidaysAndNonWorkingDays holidaysAndNonWorkingDays = HolidaysAndNonWorkingDays.getInstance();
-        Long daysCount = 0L;
-        HashSet<Date> holidays = holidaysAndNonWorkingDays.getHolidaysSet();
-        HashSet<Integer> nonWorkingDays = holidaysAndNonWorkingDays.getNonWorkingDaysSet();
-        Date current = startDate;
-        while (!current.after(endDate)) {
-            if (holidays.contains(current) && nonWorkingDays.contains(getDayOfWeek(current))) {
-                daysCount++;
-            }
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(current);
-            calendar.add(Calendar.DATE, 1);
-            current = calendar.getTime();
-        }
-        return daysCount;
+        return numOfHolidaysAndNonWorkingDaysInRange(EpochDays.of(startDate), EpochDays.of(endDate));
+    }
+
+    public static long numOfHolidaysAndNonWorkingDaysInRange(int startEpochDay, int endEpochDay) {
+        log.debug("Inside numOfHolidaysAndNonWorkingDaysInRange() of Utility class");
+        return WorkingDayCalendarIndex.getInstance().numOfHolidaysAndNonWorkingDays(startEpochDay, endEpochDay);
     }
 
     public static boolean isDateRangeOverlapping(Date startDate1, Date endDate1, Date startDate2, Date endDate2) {
@@ -165,6 +154,13 @@ public class Utility {
                 || (startDate2.getTime() <= startDate1.getTime() && endDate2.getTime() >= startDate1.getTime());
     }
 
+    public static boolean isDateRangeOverlapping(int startEpochDay1, int endEpochDay1, int startEpochDay2, int endEpochDay2) {
+        log.debug("Inside isDateRangeOverlapping() of Utility class");
+        return (startEpochDay2 >= startEpochDay1 && endEpochDay2 <= endEpochDay1)
+                || (startEpochDay2 <= endEpochDay1 && endEpochDay2 >= endEpochDay1)
+                || (startEpochDay2 <= startEpochDay1 && endEpochDay2 >= startEpochDay1);
+    }
+
     public static boolean isStartDateLessThanEqualToEndDate(Date startDate, Date endDate) {
         log.debug("Inside isStartDateLessThanEqualToEndDate() of Utility class");
         return startDate.getTime() <= endDate.getTime();
@@ -177,46 +173,107 @@ public class Utility {
 
     public static Long getTotalWorkingDays(Date startDate, Date endDate) {
         log.debug("Inside getTotalWorkingDays() of Utility class");
-        Long holidaysCount = numOfHolidaysInRange(startDate, endDate);
-        Long nonWorkingDays = numOfNonWorkingDayInRange(startDate, endDate);
-        Long holidaysAndNonWorkingDays = numOfHolidaysAndNonWorkingDaysInRange(startDate, endDate);
-        Long daysCount = getDaysCount(startDate, endDate);
-        Long totalWorkingDays = daysCount - (holidaysCount + nonWorkingDays - holidaysAndNonWorkingDays);
-        return totalWorkingDays;
+        return getTotalWorkingDays(EpochDays.of(startDate), EpochDays.of(endDate));
+    }
+
+    public static long getTotalWorkingDays(int startEpochDay, int endEpochDay) {
+        log.debug("Inside getTotalWorkingDays() of Utility class");
+        return WorkingDayCalendarIndex.getInstance().numOfWorkingDays(startEpochDay, endEpochDay);
+    }
+
+    public static long getTotalWorkingDays(String location, int startEpochDay, int endEpochDay) {
+        log.debug("Inside getTotalWorkingDays() of Utility class");
+        LocationCalendar locationCalendar = getLocationCalendar(location);
+        if (locationCalendar == null) {
+            return getTotalWorkingDays(startEpochDay, endEpochDay);
+        }
+        return locationCalendar.numOfWorkingDays(startEpochDay, endEpochDay);
+    }
+
+    /**
+     * @return the calendar of {@code location}, or {@code null} when the default location's calendar applies:
+     * for the default location itself and for locations without a calendar
+     */
+    private static LocationCalendar getLocationCalendar(String location) {
+        if (location == null || DEFAULT_LOCATION.equals(location)) {
+            return null;
+        }
+        return LocationCalendar.forLocation(location);
     }
 
     public static Date getDateOneYearPrior(Date expectedDeliveryDate) {
         log.debug("Inside getDateOneYearPrior() of Utility class");
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(expectedDeliveryDate);
-        calendar.add(Calendar.YEAR, -1); // to get 1 year prior Date
-        Date dateOneYearPrior = calendar.getTime();
-        return dateOneYearPrior;
+        return EpochDays.toDate(getDateOneYearPrior(EpochDays.of(expectedDeliveryDate)));
     }
 
+    public static int getDateOneYearPrior(int expectedDeliveryEpochDay) {
+        log.debug("Inside getDateOneYearPrior() of Utility class");
+        return EpochDays.plusYears(expectedDeliveryEpochDay, -1);
+    }
+
+    /**
+     * Out-of-office leave accrued in {@code year}: the joining year earns {@link com.io.lms.constant.Constants#LEAVE_PER_MONTH}
+     * for each remaining month plus 1 or 2 days for the joining month, later years earn a full year up front.
+     */
+    public static long getAccruedLeaveInYear(int joiningDate, int year) {
+        log.debug("Inside getAccruedLeaveInYear() of Utility class");
+        int joiningYear = EpochDays.year(joiningDate);
+        if (year < joiningYear) {
+            return 0L;
+        }
+        if (year > joiningYear) {
+            return LEAVE_PER_MONTH * 12;
+        }
+        long accrued = (EpochDays.dayOfMonth(joiningDate) > 15) ? 1L : 2L;
+        return accrued + LEAVE_PER_MONTH * (12L - EpochDays.month(joiningDate));
+    }
 
-    public static Employee mapFromEmployeeRegisterRequestToEmployee(EmployeeRegisterRequest employeeRegisterRequest) throws ParseException {
+
+    public static Employee mapFromEmployeeRegisterRequestToEmployee(EmployeeRegisterRequest employeeRegisterRequest) {
         log.debug("Inside mapFromDtoToEmployee function of Utility class");
         Employee employee = new Employee();
         employee.setGender(Gender.valueOf(employeeRegisterRequest.getGender().toUpperCase()));
         employee.setEmail(employeeRegisterRequest.getEmail());
         employee.setName(employeeRegisterRequest.getName());
+        employee.setLocation(employeeRegisterRequest.getLocation());
         employee.setJoiningDate(Utility.getCurrentDate());
         return employee;
     }
 
     public static EmployeeRegisterResponse mapFromEmployeeToEmployeeResponse(Employee emp) {
         log.debug("Inside mapFromEmployeeToDto function of Utility class");
+        EmployeeRegisterResponse employeeRegisterResponse = mapFromEmployeeToEmployeeResponseWithoutLeaves(emp);
+        employeeRegisterResponse.setLeaves(emp.getLeaves());
+        return employeeRegisterResponse;
+    }
+
+    /**
+     * Maps only the columns of the employee row; the lazy leave collection is left untouched.
+     */
+    public static EmployeeRegisterResponse mapFromEmployeeToEmployeeResponseWithoutLeaves(Employee emp) {
+        log.debug("Inside mapFromEmployeeToEmployeeResponseWithoutLeaves function of Utility class");
         EmployeeRegisterResponse employeeRegisterResponse = new EmployeeRegisterResponse();
         employeeRegisterResponse.setId(emp.getId());
         employeeRegisterResponse.setName(emp.getName());
         employeeRegisterResponse.setEmail(emp.getEmail());
         employeeRegisterResponse.setDateOfJoining(emp.getJoiningDate());
         employeeRegisterResponse.setGender(String.valueOf(emp.getGender()).toLowerCase());
-        employeeRegisterResponse.setLeaves(emp.getLeaves());
+        employeeRegisterResponse.setLocation(emp.getLocation());
         return employeeRegisterResponse;
     }
 
+    public static EmployeeExportRecord mapFromEmployeeToEmployeeExportRecord(Employee emp) {
+        log.debug("Inside mapFromEmployeeToEmployeeExportRecord function of Utility class");
+        EmployeeExportRecord employeeExportRecord = new EmployeeExportRecord();
+        employeeExportRecord.setId(emp.getId());
+        employeeExportRecord.setName(emp.getName());
+        employeeExportRecord.setEmail(emp.getEmail());
+        employeeExportRecord.setDateOfJoining(emp.getJoiningDate());
+        employeeExportRecord.setGender(String.valueOf(emp.getGender()).toLowerCase());
+        employeeExportRecord.setLocation(emp.getLocation());
+        return employeeExportRecord;
+    }
+
     public static ExtraWorkResponse mapFromExtraWorkToExtraWorkResponse(ExtraWork extraWork) {
         log.debug("Inside mapFromExtraWorkToExtraWorkResponseDto() of Utility class");
         ExtraWorkResponse extraWorkResponse = new ExtraWorkResponse();
@@ -225,6 +282,59 @@ public class Utility {
         return extraWorkResponse;
     }
 
+    public static boolean validateEmployeeRegisterRequest(EmployeeRegisterRequest employeeRegisterRequest) {
+        log.debug("Inside validateEmployeeRegisterRequest() of Utility class");
+        String name = employeeRegisterRequest.getName();
+        String email = employeeRegisterRequest.getEmail();
+        String gender = employeeRegisterRequest.getGender();
+        if (name == null || name.trim().isEmpty()) {
+            throw new EmployeeRegistrationDataException("Name is missing");
+        }
+        if (email == null || !EMAIL_PATTERN.matcher(email).matches()) {
+            throw new EmployeeRegistrationDataException("Invalid email: '" + email + "'");
+        }
+        if (gender == null || !(validateGender(gender, MALE) || validateGender(gender, FEMALE))) {
+            throw new EmployeeRegistrationDataException("Invalid gender: '" + gender + "', expected " + MALE + " or " + FEMALE);
+        }
+        String location = employeeRegisterRequest.getLocation();
+        if (location != null && !DEFAULT_LOCATION.equals(location) && !LocationCalendar.isKnownLocation(location)) {
+            throw new EmployeeRegistrationDataException("Unknown location: '" + location + "'");
+        }
+        return true;
+    }
+
+    /**
+     * Splits one CSV line into trimmed fields. A field may be wrapped in double quotes to contain commas,
+     * with {@code ""} standing for a quote inside it; fields spanning several lines are not supported.
+     */
+    public static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
     public static boolean validateGender(String actual, String expected) {
         log.debug("Inside validateGender() of Utility class");
         return actual.toLowerCase().equals(expected.toLowerCase());
@@ -237,29 +347,47 @@ public class Utility {
         return calendar;
     }
 
-    public static Long getYearFromDate(Date date) {
+    public static long getYearFromDate(Date date) {
         log.debug("Inside getYearFromDate() of Utility class");
-        Calendar calendar = dateToCalendar(date);
-        return Long.valueOf(calendar.get(Calendar.YEAR));
+        return getYearFromDate(EpochDays.of(date));
+    }
+
+    public static int getYearFromDate(int epochDay) {
+        log.debug("Inside getYearFromDate() of Utility class");
+        return EpochDays.year(epochDay);
+    }
+
+    public static long getMonthFromDate(Date date) {
+        log.debug("Inside getMonthFromDate() of Utility class");
+        return getMonthFromDate(EpochDays.of(date));
     }
 
-    public static Long getMonthFromDate(Date date) {
+    // 0 based like Calendar.MONTH, ex: January will give 0
+    public static int getMonthFromDate(int epochDay) {
         log.debug("Inside getMonthFromDate() of Utility class");
-        Calendar calendar = dateToCalendar(date);
-        return Long.valueOf(calendar.get(Calendar.MONTH));
+        return EpochDays.month(epochDay) - 1;
     }
 
-    public static Long getDayOfMonthFromDate(Date date) {
+    public static long getDayOfMonthFromDate(Date date) {
         log.debug("Inside getDayOfMonthFromDate() of Utility class");
-        Calendar calendar = dateToCalendar(date);
-        return Long.valueOf(calendar.get(Calendar.DAY_OF_MONTH));
+        return getDayOfMonthFromDate(EpochDays.of(date));
+    }
+
+    public static int getDayOfMonthFromDate(int epochDay) {
+        log.debug("Inside getDayOfMonthFromDate() of Utility class");
+        return EpochDays.dayOfMonth(epochDay);
     }
 
     public static boolean isLeaveOverlapping(Date startDate, Date endDate, List<Leave> leaves) {
+        log.debug("Inside isLeaveOverlapping() of Utility class");
+        return isLeaveOverlapping(EpochDays.of(startDate), EpochDays.of(endDate), leaves);
+    }
+
+    public static boolean isLeaveOverlapping(int startEpochDay, int endEpochDay, List<Leave> leaves) {
         log.debug("Inside isLeaveOverlapping() of Utility class");
         boolean flag = false;
         for (Leave leave : leaves) {
-            if (Utility.isDateRangeOverlapping(leave.getStartDate(), leave.getEndDate(), startDate, endDate)) {
+            if (Utility.isDateRangeOverlapping(EpochDays.of(leave.getStartDate()), EpochDays.of(leave.getEndDate()), startEpochDay, endEpochDay)) {
                 log.error("leave Date range overlaps with the previous leaves");
                 flag = true;
                 break;
@@ -270,31 +398,90 @@ public class Utility {
 
     public static boolean validateLeaveRequestCommonConstraints(LeaveRequest leaveRequest, Employee employee) throws ParseException {
         log.debug("Inside validateLeaveRequestCommonConstraints() of Utility class");
-        Long empId = leaveRequest.getEmpId();
-        Date startDate = Utility.stringToDate(leaveRequest.getStartDate());
-        Date endDate = Utility.stringToDate(leaveRequest.getEndDate());
-        if (!Utility.isStartDateLessThanEqualToEndDate(startDate, endDate)) {
-            log.error("start-Date is greater than end-Date");
-            throw new LeaveConstraintFailException("start-Date is greater than end-Date");
+        return validateLeaveRequestCommonConstraints(leaveRequest, employee, LeaveIntervalIndex.of(employee.getLeaves()));
+    }
+
+    public static boolean validateLeaveRequestCommonConstraints(LeaveRequest leaveRequest, Employee employee, LeaveIntervalIndex leaveIntervalIndex) throws ParseException {
+        log.debug("Inside validateLeaveRequestCommonConstraints() of Utility class");
+        checkLeaveRequestCommonConstraints(leaveRequest, employee, leaveIntervalIndex, new ValidationResult()).throwIfInvalid(LeaveConstraintFailException::new);
+        return true;
+    }
+
+    public static ValidationResult checkLeaveRequestCommonConstraints(LeaveRequest leaveRequest, Employee employee, LeaveIntervalIndex leaveIntervalIndex, ValidationResult validationResult) {
+        log.debug("Inside checkLeaveRequestCommonConstraints() of Utility class");
+        Integer startEpochDay = parseEpochDay(leaveRequest.getStartDate(), "start-Date", validationResult);
+        Integer endEpochDay = parseEpochDay(leaveRequest.getEndDate(), "end-Date", validationResult);
+        if (startEpochDay == null || endEpochDay == null) {
+            return validationResult;
         }
-        if (!Utility.validateJoiningDateConstraint(startDate, employee.getJoiningDate())) {
-            log.error("Leave starting date: " + leaveRequest.getStartDate() + ", cannot be prior to joining date:  " + employee.getJoiningDate());
-            throw new LeaveConstraintFailException("Leave starting date: " + leaveRequest.getStartDate() + ", cannot be prior to joining date:  " + employee.getJoiningDate());
+        return checkLeaveDates(startEpochDay, endEpochDay, employee, leaveIntervalIndex, validationResult);
+    }
+
+    public static ValidationResult checkLeaveDates(int startEpochDay, int endEpochDay, Employee employee, LeaveIntervalIndex leaveIntervalIndex, ValidationResult validationResult) {
+        log.debug("Inside checkLeaveDates() of Utility class");
+        if (startEpochDay > endEpochDay) {
+            validationResult.reject("start-Date is greater than end-Date");
+            return validationResult;
         }
-        List<Leave> leaves = employee.getLeaves();
-        if (Utility.isLeaveOverlapping(startDate, endDate, leaves)) {
-            throw new LeaveConstraintFailException("leave Date range overlaps with the previous leaves");
+        if (startEpochDay < EpochDays.of(employee.getJoiningDate())) {
+            validationResult.reject("Leave starting date: " + EpochDays.format(startEpochDay) + ", cannot be prior to joining date:  " + employee.getJoiningDate());
+        }
+        if (leaveIntervalIndex.overlaps(startEpochDay, endEpochDay)) {
+            validationResult.reject("leave Date range overlaps with the previous leaves");
+        }
+        return validationResult;
+    }
+
+    /**
+     * @return the epoch day of {@code date}, or {@code null} after rejecting a missing or malformed date
+     */
+    public static Integer parseEpochDay(String date, String field, ValidationResult validationResult) {
+        if (date == null) {
+            validationResult.reject(field + " is missing");
+            return null;
+        }
+        try {
+            return EpochDays.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            validationResult.reject(field + " is not a valid " + DATE_FORMAT + " date: " + date);
+            return null;
+        }
+    }
+
+    /**
+     * @return the epoch millisecond of {@code dateTime}, or {@code null} after rejecting a missing or malformed date-time
+     */
+    public static Long parseEpochMilli(String dateTime, String field, ValidationResult validationResult) {
+        if (dateTime == null) {
+            validationResult.reject(field + " is missing");
+            return null;
+        }
+        try {
+            return EpochDays.parseDateTimeToEpochMilli(dateTime.trim());
+        } catch (DateTimeParseException e) {
+            validationResult.reject(field + " is not a valid " + DATE_TIME_FORMAT + " date-time: " + dateTime);
+            return null;
         }
-        return true;
     }
 
 
     public static boolean isDateHolidaysORNonWorkingDays(Date date) {
         log.debug("Inside isDateHolidaysORNonWorkingDays() of Utility class");
-        HolidaysAndNonWorkingDays holidaysAndNonWorkingDays = HolidaysAndNonWorkingDays.getInstance();
-        HashSet<Integer> nonWorkingDays = holidaysAndNonWorkingDays.getNonWorkingDaysSet();
-        HashSet<Date> holidays = holidaysAndNonWorkingDays.getHolidaysSet();
-        return (holidays.contains(date) || nonWorkingDays.contains(Utility.getDayOfWeek(date)));
+        return isDateHolidaysORNonWorkingDays(EpochDays.of(date));
+    }
+
+    public static boolean isDateHolidaysORNonWorkingDays(int epochDay) {
+        log.debug("Inside isDateHolidaysORNonWorkingDays() of Utility class");
+        return WorkingDayCalendarIndex.getInstance().isHolidayOrNonWorkingDay(epochDay);
+    }
+
+    public static boolean isDateHolidaysORNonWorkingDays(String location, int epochDay) {
+        log.debug("Inside isDateHolidaysORNonWorkingDays() of Utility class");
+        LocationCalendar locationCalendar = getLocationCalendar(location);
+        if (locationCalendar == null) {
+            return isDateHolidaysORNonWorkingDays(epochDay);
+        }
+        return locationCalendar.isHolidayOrNonWorkingDay(epochDay);
     }
 
     public static boolean isStartDateEqualsEndDate(Date startDate, Date endDate) {
@@ -308,18 +495,27 @@ public class Utility {
     }
 
     public static ExtraWork mapFromExtraWorkRequestToExtraWork(ExtraWorkRequest extraWorkRequest) throws ParseException {
+        log.debug("Inside mapFromDtoExtraWorkRequestToExtraWork() of Utility class");
+        return mapFromExtraWorkRequestToExtraWork(extraWorkRequest.getEmpId(), Utility.stringToEpochDay(extraWorkRequest.getStartDateTime()));
+    }
+
+    public static ExtraWork mapFromExtraWorkRequestToExtraWork(Long empId, int epochDay) {
         log.debug("Inside mapFromDtoExtraWorkRequestToExtraWork() of Utility class");
         ExtraWork extraWork = new ExtraWork();
-        Date startDate = Utility.stringToDate(extraWorkRequest.getStartDateTime());
-        extraWork.setDate(startDate);
+        extraWork.setDate(EpochDays.toDate(epochDay));
         Employee employee = new Employee();
-        employee.setId(extraWorkRequest.getEmpId());
+        employee.setId(empId);
         extraWork.setEmployee(employee);
         return extraWork;
     }
 
     public static boolean isNumOfHoursValidForExtraWork(Date startDateTime, Date endDateTime) {
         log.debug("Inside isNumOfHoursValidForExtraWork() of Utility class");
-        return endDateTime.getTime() - startDateTime.getTime() >= (MIN_WORKING_HOURS_REQUIRED_EXTRA_WORK * MILLI_SEC_PER_HOUR);
+        return isNumOfHoursValidForExtraWork(startDateTime.getTime(), endDateTime.getTime());
+    }
+
+    public static boolean isNumOfHoursValidForExtraWork(long startEpochMilli, long endEpochMilli) {
+        log.debug("Inside isNumOfHoursValidForExtraWork() of Utility class");
+        return endEpochMilli - startEpochMilli >= (MIN_WORKING_HOURS_REQUIRED_EXTRA_WORK * MILLI_SEC_PER_HOUR);
     }
 }
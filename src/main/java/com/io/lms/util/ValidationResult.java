@@ -0,0 +1,45 @@
+package com.io.lms.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Violations found while checking a request. Checks add to it instead of throwing, so a rejected request
+ * costs no exception and reports every rule it breaks at once.
+ */
+public class ValidationResult {
+
+    private final List<String> violations = new ArrayList<>(2);
+
+    public ValidationResult reject(String violation) {
+        violations.add(violation);
+        return this;
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    public int getViolationCount() {
+        return violations.size();
+    }
+
+    public List<String> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    public String getMessage() {
+        return String.join("; ", violations);
+    }
+
+    /**
+     * For callers that still expect a rejected request to throw.
+     */
+    public void throwIfInvalid(Function<String, ? extends RuntimeException> exception) {
+        if (!isValid()) {
+            throw exception.apply(getMessage());
+        }
+    }
+}
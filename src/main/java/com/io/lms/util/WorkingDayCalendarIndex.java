@@ -0,0 +1,152 @@
+package com.io.lms.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+
+import static com.io.lms.constant.Constants.CALENDAR_INDEX_YEARS_AFTER;
+import static com.io.lms.constant.Constants.CALENDAR_INDEX_YEARS_BEFORE;
+
+/**
+ * Prefix sums of holidays, non-working days and working days keyed by epoch day.
+ * Slot {@code i} of each array holds the count for the days {@code [firstEpochDay, firstEpochDay + i)},
+ * so the count for any covered range is the difference of two slots. Days outside the indexed span are
+ * counted one by one against the sorted holidays and the non-working weekday mask.
+ */
+@Slf4j
+public class WorkingDayCalendarIndex {
+
+    private static volatile WorkingDayCalendarIndex workingDayCalendarIndex = null;
+
+    private final int firstEpochDay;
+    private final int lastEpochDay;
+    private final int[] sortedHolidays;
+    private final int nonWorkingDaysMask;
+    private final int[] holidays;
+    private final int[] nonWorkingDays;
+    private final int[] holidaysAndNonWorkingDays;
+    private final int[] workingDays;
+
+    public WorkingDayCalendarIndex(HolidaysAndNonWorkingDays calendar, int fromYear, int toYear) {
+        log.debug("Building working day calendar index for the years: " + fromYear + " to " + toYear);
+        firstEpochDay = EpochDays.of(fromYear, 1, 1);
+        lastEpochDay = EpochDays.of(toYear, 12, 31);
+        sortedHolidays = calendar.getHolidayEpochDays();
+        int mask = 0;
+        for (Integer dayOfWeek : calendar.getNonWorkingDaysSet()) {
+            mask |= 1 << dayOfWeek;
+        }
+        nonWorkingDaysMask = mask;
+
+        int size = lastEpochDay - firstEpochDay + 1;
+        holidays = new int[size + 1];
+        nonWorkingDays = new int[size + 1];
+        holidaysAndNonWorkingDays = new int[size + 1];
+        workingDays = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            int epochDay = firstEpochDay + i;
+            boolean isHoliday = isHoliday(epochDay);
+            boolean isNonWorkingDay = isNonWorkingDay(epochDay);
+            holidays[i + 1] = holidays[i] + (isHoliday ? 1 : 0);
+            nonWorkingDays[i + 1] = nonWorkingDays[i] + (isNonWorkingDay ? 1 : 0);
+            holidaysAndNonWorkingDays[i + 1] = holidaysAndNonWorkingDays[i] + (isHoliday && isNonWorkingDay ? 1 : 0);
+            workingDays[i + 1] = workingDays[i] + (isHoliday || isNonWorkingDay ? 0 : 1);
+        }
+    }
+
+    public static WorkingDayCalendarIndex getInstance() {
+        if (workingDayCalendarIndex == null) {
+            synchronized (WorkingDayCalendarIndex.class) {
+                if (workingDayCalendarIndex == null) {
+                    workingDayCalendarIndex = build(CALENDAR_INDEX_YEARS_BEFORE, CALENDAR_INDEX_YEARS_AFTER);
+                }
+            }
+        }
+        return workingDayCalendarIndex;
+    }
+
+    /**
+     * Rebuilds the shared index from {@code calendar} so that it spans {@code yearsBefore} years before and
+     * {@code yearsAfter} years after the current year. The new index replaces the old one in a single write;
+     * lookups already running finish against the old one.
+     */
+    public static void configure(HolidaysAndNonWorkingDays calendar, int yearsBefore, int yearsAfter) {
+        workingDayCalendarIndex = build(calendar, yearsBefore, yearsAfter);
+    }
+
+    private static WorkingDayCalendarIndex build(int yearsBefore, int yearsAfter) {
+        return build(HolidaysAndNonWorkingDays.getInstance(), yearsBefore, yearsAfter);
+    }
+
+    private static WorkingDayCalendarIndex build(HolidaysAndNonWorkingDays calendar, int yearsBefore, int yearsAfter) {
+        int currentYear = EpochDays.year(EpochDays.today());
+        return new WorkingDayCalendarIndex(calendar, currentYear - yearsBefore, currentYear + yearsAfter);
+    }
+
+    public boolean covers(int startEpochDay, int endEpochDay) {
+        return startEpochDay >= firstEpochDay && endEpochDay <= lastEpochDay;
+    }
+
+    public boolean isHoliday(int epochDay) {
+        return Arrays.binarySearch(sortedHolidays, epochDay) >= 0;
+    }
+
+    public boolean isNonWorkingDay(int epochDay) {
+        return (nonWorkingDaysMask & (1 << EpochDays.dayOfWeek(epochDay))) != 0;
+    }
+
+    public boolean isHolidayOrNonWorkingDay(int epochDay) {
+        return isNonWorkingDay(epochDay) || isHoliday(epochDay);
+    }
+
+    public long numOfHolidays(int startEpochDay, int endEpochDay) {
+        if (!covers(startEpochDay, endEpochDay)) {
+            long daysCount = 0L;
+            for (int epochDay = startEpochDay; epochDay <= endEpochDay; epochDay++) {
+                daysCount += isHoliday(epochDay) ? 1 : 0;
+            }
+            return daysCount;
+        }
+        return countInRange(holidays, startEpochDay, endEpochDay);
+    }
+
+    public long numOfNonWorkingDays(int startEpochDay, int endEpochDay) {
+        if (!covers(startEpochDay, endEpochDay)) {
+            long daysCount = 0L;
+            for (int epochDay = startEpochDay; epochDay <= endEpochDay; epochDay++) {
+                daysCount += isNonWorkingDay(epochDay) ? 1 : 0;
+            }
+            return daysCount;
+        }
+        return countInRange(nonWorkingDays, startEpochDay, endEpochDay);
+    }
+
+    public long numOfHolidaysAndNonWorkingDays(int startEpochDay, int endEpochDay) {
+        if (!covers(startEpochDay, endEpochDay)) {
+            long daysCount = 0L;
+            for (int epochDay = startEpochDay; epochDay <= endEpochDay; epochDay++) {
+                daysCount += (isHoliday(epochDay) && isNonWorkingDay(epochDay)) ? 1 : 0;
+            }
+            return daysCount;
+        }
+        return countInRange(holidaysAndNonWorkingDays, startEpochDay, endEpochDay);
+    }
+
+    public long numOfWorkingDays(int startEpochDay, int endEpochDay) {
+        if (!covers(startEpochDay, endEpochDay)) {
+            long daysCount = 0L;
+            for (int epochDay = startEpochDay; epochDay <= endEpochDay; epochDay++) {
+                daysCount += isHolidayOrNonWorkingDay(epochDay) ? 0 : 1;
+            }
+            return daysCount;
+        }
+        return countInRange(workingDays, startEpochDay, endEpochDay);
+    }
+
+    private long countInRange(int[] prefix, int startEpochDay, int endEpochDay) {
+        if (startEpochDay > endEpochDay) {
+            return 0L;
+        }
+        return prefix[endEpochDay - firstEpochDay + 1] - prefix[startEpochDay - firstEpochDay];
+    }
+}
@@ -0,0 +1,170 @@
+package com.io.lms.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.io.lms.dto.LeaveRequest;
+import com.io.lms.model.Employee;
+import com.io.lms.model.Gender;
+import com.io.lms.model.Leave;
+import com.io.lms.repository.EmployeeRepository;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.SqlStatementStats;
+import com.io.lms.util.Utility;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.io.lms.constant.Constants.OutOfOffice;
+import static com.io.lms.constant.Constants.PATERNITY;
+import static com.io.lms.util.SqlStatementBudget.assertWithin;
+import static com.io.lms.util.SqlStatementBudget.measure;
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Slf4j
+public class SqlStatementBudgetTests {
+
+    @Autowired
+    WebApplicationContext webApplicationContext;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    LeaveRepository leaveRepository;
+    private MockMvc mockMvc;
+
+    @Before
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(new SqlStatementFilter(meterRegistry, true))
+                .build();
+    }
+
+    private Employee getEmployeeForTesting() throws ParseException {
+        Employee employee = new Employee();
+
+        employee.setName("Prashant Agrawal");
+        employee.setEmail("a,prashant2020@gmail.com");
+        employee.setGender(Gender.MALE);
+        employee.setJoiningDate(Utility.getDateOneYearPrior(Utility.getCurrentDate()));
+
+        return employee;
+    }
+
+    private Leave getLeaveForTesting(Employee employee, int startOffset) {
+        Leave leave = new Leave();
+
+        int today = EpochDays.today();
+        leave.setEmployee(employee);
+        leave.setStartDate(EpochDays.toDate(today + startOffset));
+        leave.setEndDate(EpochDays.toDate(today + startOffset + 1));
+        leave.setLeaveCount(2L);
+        leave.setLeaveType(OutOfOffice);
+
+        return leave;
+    }
+
+    @Test
+    public void leaveApplyBudgetTest() throws Exception {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        LeaveRequest leaveRequest = new LeaveRequest();
+        int today = EpochDays.today();
+        leaveRequest.setLeaveType(PATERNITY);
+        leaveRequest.setStartDate(EpochDays.format(today + 1));
+        leaveRequest.setEndDate(EpochDays.format(today + 9));
+        leaveRequest.setChildDOB(EpochDays.format(today - 100));
+        try {
+            MvcResult mvcResult = mockMvc.perform(post("/leave/apply/" + employee.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(leaveRequest)))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            // the employee context, the version bump and the insert; one more when the leave sequence is read
+            assertWithin(6, mvcResult);
+        } finally {
+            leaveRepository.deleteAll(leaveRepository.findAllByEmployeeId(employee.getId()));
+            employeeRepository.deleteById(employee.getId());
+        }
+    }
+
+    @Test
+    public void leaveHistoryBudgetTest() throws Exception {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        List<Leave> leaves = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            leaves.add(leaveRepository.save(getLeaveForTesting(employee, 10 * i + 1)));
+        }
+        try {
+            MvcResult mvcResult = mockMvc.perform(get("/employee/" + employee.getId() + "/leavehistory"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            assertWithin(2, mvcResult);
+        } finally {
+            leaveRepository.deleteAll(leaves);
+            employeeRepository.deleteById(employee.getId());
+        }
+    }
+
+    @Test
+    public void compOffBalanceBudgetTest() throws Exception {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        try {
+            MvcResult mvcResult = mockMvc.perform(get("/employee/" + employee.getId() + "/compoffbalance"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            assertWithin(2, mvcResult);
+        } finally {
+            employeeRepository.deleteById(employee.getId());
+        }
+    }
+
+    @Test
+    public void getAllEmployeesBudgetTest() throws Exception {
+
+        List<Employee> employees = new ArrayList<>();
+        List<Leave> leaves = new ArrayList<>();
+        try {
+            SqlStatementStats fewEmployees = null;
+            for (int i = 0; i < 6; i++) {
+                Employee employee = employeeRepository.save(getEmployeeForTesting());
+                employees.add(employee);
+                leaves.add(leaveRepository.save(getLeaveForTesting(employee, 1)));
+                if (i == 1) {
+                    fewEmployees = measure(() -> mockMvc.perform(get("/employee/all").param("include", "leaves")).andReturn());
+                }
+            }
+            MvcResult mvcResult = mockMvc.perform(get("/employee/all").param("include", "leaves"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            // the leaves of a page are fetched in one batch, however many employees it has
+            assertEquals(fewEmployees.getStatements(), assertWithin(2, mvcResult));
+        } finally {
+            leaveRepository.deleteAll(leaves);
+            employeeRepository.deleteAll(employees);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.LeaveRequest;
+import com.io.lms.dto.LeaveResponse;
+import com.io.lms.model.CompOffCredit;
+import com.io.lms.model.Employee;
+import com.io.lms.model.Gender;
+import com.io.lms.repository.CompOffCreditRepository;
+import com.io.lms.repository.EmployeeRepository;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.Utility;
+import com.io.lms.util.ValidationResult;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.io.lms.constant.Constants.COMP_OFF;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Slf4j
+public class CompOffLedgerServiceTests {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    CompOffCreditRepository compOffCreditRepository;
+    @Autowired
+    CompOffLedgerService compOffLedgerService;
+    @Autowired
+    LeaveServicesFactory leaveServicesFactory;
+
+    private Employee getEmployeeForTesting() {
+        Employee employee = new Employee();
+
+        employee.setName("Prashant Agrawal");
+        employee.setEmail("a,prashant2020@gmail.com");
+        employee.setGender(Gender.MALE);
+        employee.setJoiningDate(EpochDays.toDate(EpochDays.plusYears(EpochDays.today(), -1)));
+
+        return employee;
+    }
+
+    private List<CompOffCredit> getCredits(Long empId) {
+        return compOffCreditRepository.findAll().stream()
+                .filter(credit -> credit.getEmployeeId().equals(empId))
+                .collect(Collectors.toList());
+    }
+
+    private void deleteEmployee(Employee employee) {
+        compOffCreditRepository.deleteAll(getCredits(employee.getId()));
+        leaveRepository.deleteAll(leaveRepository.findAllByEmployeeId(employee.getId()));
+        employeeRepository.deleteById(employee.getId());
+    }
+
+    @Test
+    public void redeemSpendsEarliestExpiringCreditsTest() {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        int today = EpochDays.today();
+        try {
+            CompOffCredit oldest = compOffLedgerService.credit(employee.getId(), today - 10);
+            CompOffCredit newest = compOffLedgerService.credit(employee.getId(), today - 2);
+            CompOffCredit middle = compOffLedgerService.credit(employee.getId(), today - 5);
+            assertNull(compOffLedgerService.credit(employee.getId(), today - 40));
+            assertEquals(3L, (long) compOffLedgerService.getBalance(employee.getId()));
+
+            compOffLedgerService.redeem(employee.getId(), 2L);
+
+            assertEquals(1L, (long) compOffLedgerService.getBalance(employee.getId()));
+            assertEquals(0L, (long) compOffCreditRepository.findById(oldest.getCreditId()).get().getRemaining());
+            assertEquals(0L, (long) compOffCreditRepository.findById(middle.getCreditId()).get().getRemaining());
+            assertEquals(1L, (long) compOffCreditRepository.findById(newest.getCreditId()).get().getRemaining());
+            // spent credits are closed and drop out of the open credits
+            assertTrue(compOffCreditRepository.findById(oldest.getCreditId()).get().getClosed());
+            assertEquals(1, compOffCreditRepository.findAllByEmployeeIdAndClosedFalseOrderByExpiresOnAscCreditIdAsc(employee.getId()).size());
+        } finally {
+            deleteEmployee(employee);
+        }
+    }
+
+    @Test
+    public void expireDueTest() {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        int today = EpochDays.today();
+        try {
+            CompOffCredit expiring = compOffLedgerService.credit(employee.getId(), today - 20);
+            CompOffCredit lasting = compOffLedgerService.credit(employee.getId(), today);
+
+            // the first credit expires on today + 10, the second on today + 30
+            assertTrue(compOffLedgerService.expireDue(today + 11) >= 1);
+
+            CompOffCredit expired = compOffCreditRepository.findById(expiring.getCreditId()).get();
+            assertTrue(expired.getExpired());
+            assertTrue(expired.getClosed());
+            assertEquals(0L, (long) expired.getRemaining());
+            assertFalse(compOffCreditRepository.findById(lasting.getCreditId()).get().getExpired());
+            assertEquals(1L, (long) compOffLedgerService.getBalance(employee.getId()));
+            assertEquals(0, compOffLedgerService.expireDue(today + 11));
+        } finally {
+            deleteEmployee(employee);
+        }
+    }
+
+    @Test
+    public void expireOverdueCreditOnceTest() {
+
+        Employee employee = getEmployeeForTesting();
+        employee.setCompOffBalance(1L);
+        employee = employeeRepository.save(employee);
+        int today = EpochDays.today();
+        try {
+            CompOffCredit overdue = new CompOffCredit();
+            overdue.setEmployeeId(employee.getId());
+            overdue.setEarnedOn(EpochDays.toDate(today - 35));
+            overdue.setExpiresOn(EpochDays.toDate(today - 5));
+            overdue.setRemaining(1L);
+            overdue.setExpired(false);
+            overdue.setClosed(false);
+            overdue = compOffCreditRepository.save(overdue);
+            compOffLedgerService.credit(employee.getId(), today);
+
+            // the overdue credit is not redeemable even before a sweep reaches it
+            assertEquals(1L, (long) compOffLedgerService.getBalance(employee.getId()));
+
+            compOffLedgerService.loadExpiries();
+            assertTrue(compOffLedgerService.expireDue(today) >= 1);
+            // a second sweep of the same credit, as another instance would run, takes nothing more
+            compOffLedgerService.loadExpiries();
+            compOffLedgerService.expireDue(today);
+
+            assertTrue(compOffCreditRepository.findById(overdue.getCreditId()).get().getExpired());
+            assertEquals(1L, (long) employeeRepository.findById(employee.getId()).get().getCompOffBalance());
+            assertEquals(1L, (long) compOffLedgerService.getBalance(employee.getId()));
+        } finally {
+            deleteEmployee(employee);
+        }
+    }
+
+    @Test
+    public void compOffLeaveTest() throws Exception {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        int leaveDate = EpochDays.today() + 1;
+        while (Utility.getTotalWorkingDays(employee.getLocation(), leaveDate, leaveDate) == 0L) {
+            leaveDate++;
+        }
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setLeaveType(COMP_OFF);
+        leaveRequest.setStartDate(EpochDays.format(leaveDate));
+        leaveRequest.setEndDate(EpochDays.format(leaveDate));
+        LeaveService compOffLeaveService = leaveServicesFactory.getService(COMP_OFF);
+        try {
+            ValidationResult withoutCredit = new ValidationResult();
+            assertNull(compOffLeaveService.enterNewLeaveRequest(leaveRequest, employee.getId(), withoutCredit));
+            assertFalse(withoutCredit.isValid());
+
+            compOffLedgerService.credit(employee.getId(), EpochDays.today());
+            LeaveResponse leaveResponse = compOffLeaveService.enterNewLeaveRequest(leaveRequest, employee.getId());
+
+            assertNotNull(leaveResponse);
+            assertEquals(COMP_OFF, leaveResponse.getLeaveType());
+            assertEquals(0L, (long) compOffLedgerService.getBalance(employee.getId()));
+            assertEquals(0L, (long) compOffLedgerService.rebuild(employee.getId()));
+        } finally {
+            deleteEmployee(employee);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.io.lms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.io.lms.dto.EmployeeExportRecord;
+import com.io.lms.model.Employee;
+import com.io.lms.model.Gender;
+import com.io.lms.model.Leave;
+import com.io.lms.repository.EmployeeRepository;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.EpochDays;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.io.lms.constant.Constants.OutOfOffice;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Slf4j
+public class EmployeeExportServiceTests {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    EmployeeExportService employeeExportService;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private Leave getLeaveForTesting(Employee employee, int startDate) {
+        Leave leave = new Leave();
+        leave.setEmployee(employee);
+        leave.setLeaveType(OutOfOffice);
+        leave.setLeaveCount(1L);
+        leave.setStartDate(EpochDays.toDate(startDate));
+        leave.setEndDate(EpochDays.toDate(startDate));
+        return leave;
+    }
+
+    @Test
+    public void exportEmployeesTest() throws IOException {
+
+        Employee employee = new Employee();
+        employee.setName("Prashant Agrawal");
+        employee.setEmail("prashant.export@gmail.com");
+        employee.setGender(Gender.MALE);
+        employee.setJoiningDate(EpochDays.toDate(EpochDays.today()));
+        employee = employeeRepository.save(employee);
+        List<Leave> leaves = new ArrayList<>();
+        leaves.add(leaveRepository.save(getLeaveForTesting(employee, EpochDays.today() + 2)));
+        leaves.add(leaveRepository.save(getLeaveForTesting(employee, EpochDays.today() + 1)));
+        Long totalEmployees = employeeRepository.count();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long written = employeeExportService.exportEmployees(outputStream);
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        EmployeeExportRecord exported = null;
+        for (String line : lines) {
+            EmployeeExportRecord employeeExportRecord = objectMapper.readValue(line, EmployeeExportRecord.class);
+            if (employeeExportRecord.getId().equals(employee.getId())) {
+                exported = employeeExportRecord;
+            }
+        }
+        leaveRepository.deleteAll(leaves);
+        employeeRepository.deleteById(employee.getId());
+
+        assertEquals(totalEmployees.longValue(), written);
+        assertEquals(totalEmployees.intValue(), lines.length);
+        assertNotNull(exported);
+        assertEquals("prashant.export@gmail.com", exported.getEmail());
+        assertEquals(2, exported.getLeaves().size());
+        // leaves of an employee are written in start date order
+        assertEquals(leaves.get(1).getLeaveId(), exported.getLeaves().get(0).getLeaveId());
+        assertEquals(leaves.get(0).getLeaveId(), exported.getLeaves().get(1).getLeaveId());
+    }
+}
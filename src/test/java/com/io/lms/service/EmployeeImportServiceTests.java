@@ -0,0 +1,53 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.EmployeeImportResponse;
+import com.io.lms.model.Employee;
+import com.io.lms.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Slf4j
+public class EmployeeImportServiceTests {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    EmployeeImportService employeeImportService;
+
+    @Test
+    public void importEmployeesTest() throws IOException {
+
+        String csv = "name,email,gender\n"
+                + "Prashant Agrawal,prashant.import@gmail.com,male\n"
+                + "\"Agrawal, Priya\",priya.import@gmail.com,FEMALE\n"
+                + "Ravi Kumar,ravi.import@gmail.com,other\n"
+                + "Asha Rao,asha.import.gmail.com,female\n"
+                + "Only Two,fields.import@gmail.com\n";
+        EmployeeImportResponse employeeImportResponse = employeeImportService.importEmployees(new StringReader(csv));
+        List<Employee> importedEmployees = employeeRepository.findAll().stream()
+                .filter((employee) -> employee.getEmail().endsWith(".import@gmail.com"))
+                .collect(Collectors.toList());
+        employeeRepository.deleteAll(importedEmployees);
+
+        assertEquals(Long.valueOf(5L), employeeImportResponse.getRowsRead());
+        assertEquals(Long.valueOf(2L), employeeImportResponse.getImported());
+        assertEquals(2, importedEmployees.size());
+        assertEquals(3, employeeImportResponse.getRejectedRows().size());
+        assertEquals(Long.valueOf(4L), employeeImportResponse.getRejectedRows().get(0).getLineNumber());
+        assertEquals(Long.valueOf(5L), employeeImportResponse.getRejectedRows().get(1).getLineNumber());
+        assertEquals(Long.valueOf(6L), employeeImportResponse.getRejectedRows().get(2).getLineNumber());
+    }
+}
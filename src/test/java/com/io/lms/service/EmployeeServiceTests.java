@@ -2,29 +2,38 @@ package com.io.lms.service;
 
 import com.io.lms.dto.*;
 import com.io.lms.model.Employee;
+import com.io.lms.model.ExtraWork;
 import com.io.lms.model.Gender;
 import com.io.lms.model.Leave;
 import com.io.lms.repository.EmployeeRepository;
 import com.io.lms.repository.ExtraWorkRepository;
 import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.EpochDays;
 import com.io.lms.util.HolidaysAndNonWorkingDays;
 import com.io.lms.util.Utility;
+import com.io.lms.util.ValidationResult;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.text.ParseException;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 
+import static com.io.lms.constant.Constants.EXTRA_WORK_DATE_EXISTS;
 import static com.io.lms.constant.Constants.MALE;
 import static com.io.lms.constant.Constants.OutOfOffice;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -113,6 +122,34 @@ public class EmployeeServiceTests {
         employeeRepository.deleteById(emp.getId());
     }
 
+    @Test
+    public void getEmployeesTest() throws ParseException {
+        Employee first = employeeRepository.save(getEmployeeForTesting());
+        Employee second = employeeRepository.save(getEmployeeForTesting());
+        Employee third = employeeRepository.save(getEmployeeForTesting());
+        Leave leaveForTesting = getLeaveForTesting();
+        leaveForTesting.setEmployee(second);
+        Leave leave = leaveRepository.save(leaveForTesting);
+        List<EmployeeRegisterResponse> firstPage = employeeService.getEmployees(first.getId() - 1, 2, false);
+        List<EmployeeRegisterResponse> secondPage = employeeService.getEmployees(firstPage.get(1).getId(), 2, true);
+        List<EmployeeRegisterResponse> firstPageWithLeaves = employeeService.getEmployees(first.getId() - 1, 2, true);
+
+        leaveRepository.deleteById(leave.getLeaveId());
+        employeeRepository.deleteById(first.getId());
+        employeeRepository.deleteById(second.getId());
+        employeeRepository.deleteById(third.getId());
+
+        assertEquals(2, firstPage.size());
+        assertEquals(first.getId(), firstPage.get(0).getId());
+        assertEquals(second.getId(), firstPage.get(1).getId());
+        assertEquals(null, firstPage.get(1).getLeaves());
+        assertEquals(1, secondPage.size());
+        assertEquals(third.getId(), secondPage.get(0).getId());
+        assertEquals(0, secondPage.get(0).getLeaves().size());
+        assertEquals(1, firstPageWithLeaves.get(1).getLeaves().size());
+        assertEquals(leave.getLeaveId(), firstPageWithLeaves.get(1).getLeaves().get(0).getLeaveId());
+    }
+
     @Test
     public void getEmployeeByIdTest() throws ParseException {
         Employee employeeForTesting = getEmployeeForTesting();
@@ -185,6 +222,75 @@ public class EmployeeServiceTests {
 
     }
 
+    @Test
+    public void getDateSpecificLeaveHistoryDoesNotModifyLeaveTest() throws ParseException {
+
+        Employee employeeForTesting = getEmployeeForTesting();
+        Employee employee = employeeRepository.save(employeeForTesting);
+        Leave leaveForTesting = getLeaveForTesting();
+        leaveForTesting.setEmployee(employee);
+        Leave leave = leaveRepository.save(leaveForTesting);
+        LeaveRequest leaveRequestForTesting = new LeaveRequest();
+        leaveRequestForTesting.setStartDate(Utility.dateToString(leave.getStartDate()));
+        leaveRequestForTesting.setEndDate(Utility.dateToString(leave.getStartDate()));
+        List<LeaveResponse> leaveResponses = employeeService.getDateSpecificLeaveHistory(employee.getId(), leaveRequestForTesting);
+        Leave storedLeave = leaveRepository.findById(leave.getLeaveId()).get();
+
+        leaveRepository.deleteById(leave.getLeaveId());
+        employeeRepository.deleteById(employee.getId());
+
+        assertEquals(1, leaveResponses.size());
+        assertEquals(leaveRequestForTesting.getEndDate(), leaveResponses.get(0).getEndDate());
+        assertEquals(Utility.dateToString(leave.getEndDate()), Utility.dateToString(storedLeave.getEndDate()));
+        assertEquals(leave.getLeaveCount(), storedLeave.getLeaveCount());
+    }
+
+    @Test
+    public void findLocationByIdTest() throws ParseException {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        List<String> defaultLocation = employeeRepository.findLocationById(employee.getId());
+        employee.setLocation("test-location");
+        employee = employeeRepository.save(employee);
+        List<String> ownLocation = employeeRepository.findLocationById(employee.getId());
+
+        employeeRepository.deleteById(employee.getId());
+
+        // an employee without a location of its own still has a row, unlike an employee that does not exist
+        assertEquals(Collections.singletonList(null), defaultLocation);
+        assertEquals(Collections.singletonList("test-location"), ownLocation);
+        assertTrue(employeeRepository.findLocationById(employee.getId()).isEmpty());
+    }
+
+    private ExtraWorkRequest getExtraWorkRequestForTesting(Employee employee) throws ParseException {
+        HolidaysAndNonWorkingDays holidaysAndNonWorkingDays = HolidaysAndNonWorkingDays.getInstance();
+        HashSet<Integer> nonWorkingDaysSet = holidaysAndNonWorkingDays.getNonWorkingDaysSet();
+        Date currDate = Utility.getCurrentDate();
+        Date joiningDate = employee.getJoiningDate();
+        Date tempDate = joiningDate;
+        while (tempDate.before(currDate)) {
+            if (nonWorkingDaysSet.contains(Utility.getDayOfWeek(tempDate))) {
+                break;
+            } else {
+                Calendar calendar = Calendar.getInstance();
+                calendar.setTime(tempDate);
+                calendar.add(Calendar.DATE, 1);
+                tempDate = calendar.getTime();
+            }
+        }
+        Date startDateTime = tempDate;
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(tempDate);
+        calendar.add(Calendar.HOUR_OF_DAY, 9);
+        Date endDateTime = calendar.getTime();
+
+        ExtraWorkRequest extraWorkRequest = new ExtraWorkRequest();
+        extraWorkRequest.setEmpId(employee.getId());
+        extraWorkRequest.setStartDateTime(Utility.dateTimeToString(startDateTime));
+        extraWorkRequest.setEndDateTime(Utility.dateTimeToString(endDateTime));
+        return extraWorkRequest;
+    }
+
     @Test
     public void logExtraWorkRequestTest() throws ParseException {
 
@@ -222,6 +328,30 @@ public class EmployeeServiceTests {
 
     }
 
+    @Test
+    public void logDuplicateExtraWorkRequestTest() throws ParseException {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        ExtraWorkRequest extraWorkRequest = getExtraWorkRequestForTesting(employee);
+        ExtraWorkResponse extraWorkResponse = employeeService.logExtraWorkRequest(employee.getId(), extraWorkRequest);
+        ValidationResult validationResult = new ValidationResult();
+        ExtraWorkResponse duplicateResponse = employeeService.logExtraWorkRequest(employee.getId(), extraWorkRequest, validationResult);
+        boolean rejectedByIndex = false;
+        try {
+            ExtraWork duplicate = Utility.mapFromExtraWorkRequestToExtraWork(employee.getId(), EpochDays.parse(extraWorkResponse.getDate()));
+            duplicate.setEmployee(employeeRepository.getOne(employee.getId()));
+            extraWorkRepository.saveAndFlush(duplicate);
+        } catch (DataIntegrityViolationException e) {
+            rejectedByIndex = true;
+        }
+        extraWorkRepository.deleteById(extraWorkResponse.getId());
+        employeeRepository.deleteById(employee.getId());
+        assertNull(duplicateResponse);
+        assertEquals(EXTRA_WORK_DATE_EXISTS, validationResult.getMessage());
+        assertTrue(rejectedByIndex);
+
+    }
+
     @Test
     public void getComOffBalanceTest() throws ParseException {
 
@@ -248,5 +378,24 @@ public class EmployeeServiceTests {
         employeeRepository.deleteById(employee.getId());
     }
 
+    @Test
+    public void incrementVersionTest() throws ParseException {
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        EmployeeContext staleEmployeeContext = employeeService.loadEmployeeContext(employee.getId());
+        // a concurrent writer validates and writes first
+        employeeService.incrementVersion(employeeService.loadEmployeeContext(employee.getId()).getEmployee());
+        Long versionAfterWrite = employeeRepository.findById(employee.getId()).get().getVersion();
+        boolean conflictDetected = false;
+        try {
+            employeeService.incrementVersion(staleEmployeeContext.getEmployee());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            conflictDetected = true;
+        }
+        Long versionAfterConflict = employeeRepository.findById(employee.getId()).get().getVersion();
+        employeeRepository.deleteById(employee.getId());
 
+        assertEquals(Long.valueOf(employee.getVersion() + 1), versionAfterWrite);
+        assertTrue(conflictDetected);
+        assertEquals(versionAfterWrite, versionAfterConflict);
+    }
 }
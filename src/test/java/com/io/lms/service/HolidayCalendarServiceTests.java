@@ -0,0 +1,131 @@
+package com.io.lms.service;
+
+import com.io.lms.model.Holiday;
+import com.io.lms.model.WorkLocation;
+import com.io.lms.repository.HolidayRepository;
+import com.io.lms.repository.WorkLocationRepository;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.HolidaysAndNonWorkingDays;
+import com.io.lms.util.LocationCalendar;
+import com.io.lms.util.Utility;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Date;
+
+import static com.io.lms.constant.Constants.DEFAULT_LOCATION;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Slf4j
+public class HolidayCalendarServiceTests {
+
+    @Autowired
+    HolidayRepository holidayRepository;
+    @Autowired
+    WorkLocationRepository workLocationRepository;
+    @Autowired
+    HolidayCalendarService holidayCalendarService;
+
+    @Test
+    public void reloadTest() throws ParseException {
+
+        // a Wednesday
+        Date holidayDate = Utility.stringToDate("02-01-2030");
+        long holidaysBefore = Utility.numOfHolidaysInRange(Utility.toEpochDay(holidayDate), Utility.toEpochDay(holidayDate));
+        int holidayCount = holidayCalendarService.reload();
+
+        Holiday holiday = holidayRepository.save(new Holiday(DEFAULT_LOCATION, holidayDate, "New Year holiday"));
+        int holidayCountAfterInsert = holidayCalendarService.reload();
+        long holidaysAfterInsert = Utility.numOfHolidaysInRange(Utility.toEpochDay(holidayDate), Utility.toEpochDay(holidayDate));
+        boolean publishedAfterInsert = HolidaysAndNonWorkingDays.getInstance().getHolidaysSet().contains(holidayDate);
+
+        holidayRepository.deleteById(holiday.getHolidayId());
+        int holidayCountAfterDelete = holidayCalendarService.reload();
+
+        assertEquals(0L, holidaysBefore);
+        assertEquals(holidayCount + 1, holidayCountAfterInsert);
+        assertEquals(1L, holidaysAfterInsert);
+        assertTrue(publishedAfterInsert);
+        assertEquals(holidayCount, holidayCountAfterDelete);
+        assertFalse(HolidaysAndNonWorkingDays.getInstance().getHolidaysSet().contains(holidayDate));
+    }
+
+    @Test
+    public void holidaysSetIsACopyTest() {
+
+        HolidaysAndNonWorkingDays calendar = HolidaysAndNonWorkingDays.getInstance();
+        int holidayCount = calendar.getHolidaysSet().size();
+        calendar.getHolidaysSet().clear();
+        calendar.getNonWorkingDaysSet().clear();
+
+        assertEquals(holidayCount, calendar.getHolidaysSet().size());
+        assertEquals(2, calendar.getNonWorkingDaysSet().size());
+    }
+
+    @Test
+    public void locationCalendarTest() throws ParseException {
+
+        // Wednesday 02-01-2030 to Tuesday 08-01-2030
+        int startDate = Utility.stringToEpochDay("02-01-2030");
+        int endDate = Utility.stringToEpochDay("08-01-2030");
+        workLocationRepository.save(new WorkLocation("test-location", "Test location", "6"));
+        Holiday holiday = holidayRepository.save(new Holiday("test-location", EpochDays.toDate(startDate), "Test holiday"));
+        holidayCalendarService.reload();
+        long workingDaysAtLocation = Utility.getTotalWorkingDays("test-location", startDate, endDate);
+        boolean fridayIsHolidayAtLocation = Utility.isDateHolidaysORNonWorkingDays("test-location", startDate + 2);
+        boolean saturdayIsHolidayAtLocation = Utility.isDateHolidaysORNonWorkingDays("test-location", startDate + 3);
+
+        holidayRepository.deleteById(holiday.getHolidayId());
+        workLocationRepository.deleteById("test-location");
+        holidayCalendarService.reload();
+
+        // the location is off on Fridays and on its holiday
+        assertEquals(5L, workingDaysAtLocation);
+        assertTrue(fridayIsHolidayAtLocation);
+        assertFalse(saturdayIsHolidayAtLocation);
+        // the default location is off on weekends
+        assertEquals(5L, Utility.getTotalWorkingDays(DEFAULT_LOCATION, startDate, endDate));
+        assertEquals(5L, Utility.getTotalWorkingDays(null, startDate, endDate));
+        assertFalse(LocationCalendar.isKnownLocation("test-location"));
+    }
+
+    @Test
+    public void invalidNonWorkingDaysTest() throws ParseException {
+
+        int startDate = Utility.stringToEpochDay("02-01-2030");
+        int endDate = Utility.stringToEpochDay("08-01-2030");
+        workLocationRepository.save(new WorkLocation("test-location", "Test location", "6"));
+        workLocationRepository.save(new WorkLocation("test-location-name", "Test location", "Sat"));
+        workLocationRepository.save(new WorkLocation("test-location-range", "Test location", "1,8"));
+        try {
+            holidayCalendarService.reload();
+
+            // the invalid locations are skipped and the others are still published
+            assertTrue(LocationCalendar.isKnownLocation("test-location"));
+            assertTrue(LocationCalendar.isKnownLocation(DEFAULT_LOCATION));
+            assertFalse(LocationCalendar.isKnownLocation("test-location-name"));
+            assertFalse(LocationCalendar.isKnownLocation("test-location-range"));
+            assertEquals(6L, Utility.getTotalWorkingDays("test-location", startDate, endDate));
+        } finally {
+            workLocationRepository.deleteById("test-location");
+            workLocationRepository.deleteById("test-location-name");
+            workLocationRepository.deleteById("test-location-range");
+            holidayCalendarService.reload();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void locationCalendarRejectsInvalidNonWorkingDayTest() {
+        new LocationCalendar("test-location", Collections.emptyList(), Collections.singletonList(0));
+    }
+}
@@ -0,0 +1,149 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.LeaveRequest;
+import com.io.lms.model.IdempotencyRecord;
+import com.io.lms.repository.IdempotencyRecordRepository;
+import com.io.lms.util.CustomMessageMap;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.io.lms.constant.Constants.IDEMPOTENCY_PENDING_STATUS;
+import static com.io.lms.constant.Constants.IDEMPOTENT_REPLAY_HEADER;
+import static com.io.lms.constant.Constants.OutOfOffice;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Slf4j
+public class IdempotencyServiceTests {
+
+    @Autowired
+    IdempotencyService idempotencyService;
+    @Autowired
+    IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private LeaveRequest getLeaveRequestForTesting(String endDate) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setLeaveType(OutOfOffice);
+        leaveRequest.setStartDate("01-01-2020");
+        leaveRequest.setEndDate(endDate);
+        return leaveRequest;
+    }
+
+    @Test
+    public void replayStoredResponseTest() {
+
+        String idempotencyKey = UUID.randomUUID().toString();
+        AtomicInteger calls = new AtomicInteger();
+        ResponseEntity firstResponse = idempotencyService.execute(idempotencyKey, "/leave/apply/1", getLeaveRequestForTesting("02-01-2020"),
+                () -> new ResponseEntity<>(new CustomMessageMap("leave", "applied " + calls.incrementAndGet()).getMessageMap(), HttpStatus.OK));
+        ResponseEntity replayedResponse = idempotencyService.execute(idempotencyKey, "/leave/apply/1", getLeaveRequestForTesting("02-01-2020"),
+                () -> new ResponseEntity<>(new CustomMessageMap("leave", "applied " + calls.incrementAndGet()).getMessageMap(), HttpStatus.OK));
+        idempotencyRecordRepository.deleteById(idempotencyKey);
+
+        assertEquals(1, calls.get());
+        assertNull(firstResponse.getHeaders().getFirst(IDEMPOTENT_REPLAY_HEADER));
+        assertEquals("true", replayedResponse.getHeaders().getFirst(IDEMPOTENT_REPLAY_HEADER));
+        assertEquals(HttpStatus.OK, replayedResponse.getStatusCode());
+        assertEquals("{\"leave\":\"applied 1\"}", replayedResponse.getBody());
+    }
+
+    @Test
+    public void keyReusedForDifferentRequestTest() {
+
+        String idempotencyKey = UUID.randomUUID().toString();
+        AtomicInteger calls = new AtomicInteger();
+        idempotencyService.execute(idempotencyKey, "/leave/apply/1", getLeaveRequestForTesting("02-01-2020"),
+                () -> new ResponseEntity<>(calls.incrementAndGet(), HttpStatus.OK));
+        ResponseEntity otherBodyResponse = idempotencyService.execute(idempotencyKey, "/leave/apply/1", getLeaveRequestForTesting("03-01-2020"),
+                () -> new ResponseEntity<>(calls.incrementAndGet(), HttpStatus.OK));
+        ResponseEntity otherPathResponse = idempotencyService.execute(idempotencyKey, "/leave/apply/2", getLeaveRequestForTesting("02-01-2020"),
+                () -> new ResponseEntity<>(calls.incrementAndGet(), HttpStatus.OK));
+        idempotencyRecordRepository.deleteById(idempotencyKey);
+
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, otherBodyResponse.getStatusCode());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, otherPathResponse.getStatusCode());
+    }
+
+    @Test
+    public void failedResponseNotStoredTest() {
+
+        String idempotencyKey = UUID.randomUUID().toString();
+        AtomicInteger calls = new AtomicInteger();
+        idempotencyService.execute(idempotencyKey, "/leave/apply/1", getLeaveRequestForTesting("02-01-2020"),
+                () -> new ResponseEntity<>(calls.incrementAndGet(), HttpStatus.BAD_REQUEST));
+        ResponseEntity retriedResponse = idempotencyService.execute(idempotencyKey, "/leave/apply/1", getLeaveRequestForTesting("02-01-2020"),
+                () -> new ResponseEntity<>(calls.incrementAndGet(), HttpStatus.OK));
+        idempotencyRecordRepository.deleteById(idempotencyKey);
+
+        assertEquals(2, calls.get());
+        assertEquals(HttpStatus.OK, retriedResponse.getStatusCode());
+    }
+
+    @Test
+    public void requestInProgressTest() {
+
+        String idempotencyKey = UUID.randomUUID().toString();
+        ResponseEntity concurrentResponse = idempotencyService.execute(idempotencyKey, "/leave/apply/1", getLeaveRequestForTesting("02-01-2020"),
+                () -> idempotencyService.execute(idempotencyKey, "/leave/apply/1", getLeaveRequestForTesting("02-01-2020"),
+                        () -> new ResponseEntity<>(HttpStatus.OK)));
+
+        assertEquals(HttpStatus.CONFLICT, concurrentResponse.getStatusCode());
+        assertFalse(idempotencyRecordRepository.existsById(idempotencyKey));
+    }
+
+    @Test
+    public void claimedByAnotherInstanceTest() {
+
+        String idempotencyKey = UUID.randomUUID().toString();
+        AtomicInteger calls = new AtomicInteger();
+        // a claim made by another instance, or left behind by an attempt that died after its leave committed
+        idempotencyRecordRepository.insertPending(idempotencyKey, "another instance", IDEMPOTENCY_PENDING_STATUS, new Date());
+        ResponseEntity retriedResponse = idempotencyService.execute(idempotencyKey, "/leave/apply/1", getLeaveRequestForTesting("02-01-2020"),
+                () -> new ResponseEntity<>(calls.incrementAndGet(), HttpStatus.OK));
+        idempotencyRecordRepository.deleteById(idempotencyKey);
+
+        assertEquals(0, calls.get());
+        assertEquals(HttpStatus.CONFLICT, retriedResponse.getStatusCode());
+    }
+
+    @Test
+    public void staleClaimTakenOverTest() {
+
+        String idempotencyKey = UUID.randomUUID().toString();
+        AtomicInteger calls = new AtomicInteger();
+        idempotencyRecordRepository.insertPending(idempotencyKey, "died", IDEMPOTENCY_PENDING_STATUS, new Date(System.currentTimeMillis() - 3600 * 1000));
+        ResponseEntity retriedResponse = idempotencyService.execute(idempotencyKey, "/leave/apply/1", getLeaveRequestForTesting("02-01-2020"),
+                () -> new ResponseEntity<>(calls.incrementAndGet(), HttpStatus.OK));
+        IdempotencyRecord idempotencyRecord = idempotencyRecordRepository.findById(idempotencyKey).get();
+        idempotencyRecordRepository.deleteById(idempotencyKey);
+
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.OK, retriedResponse.getStatusCode());
+        assertEquals(200, (int) idempotencyRecord.getStatusCode());
+        assertEquals("1", idempotencyRecord.getResponseBody());
+    }
+
+    @Test
+    public void noKeyTest() {
+
+        AtomicInteger calls = new AtomicInteger();
+        idempotencyService.execute(null, "/leave/apply/1", getLeaveRequestForTesting("02-01-2020"), () -> new ResponseEntity<>(calls.incrementAndGet(), HttpStatus.OK));
+        idempotencyService.execute(null, "/leave/apply/1", getLeaveRequestForTesting("02-01-2020"), () -> new ResponseEntity<>(calls.incrementAndGet(), HttpStatus.OK));
+
+        assertEquals(2, calls.get());
+    }
+}
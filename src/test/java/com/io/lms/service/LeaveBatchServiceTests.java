@@ -0,0 +1,85 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.LeaveBatchItemResponse;
+import com.io.lms.dto.LeaveRequest;
+import com.io.lms.model.Employee;
+import com.io.lms.model.Gender;
+import com.io.lms.repository.EmployeeRepository;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.Utility;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.io.lms.constant.Constants.PATERNITY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Slf4j
+public class LeaveBatchServiceTests {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    LeaveBatchService leaveBatchService;
+
+    private Employee getEmployeeForTesting() {
+        Employee employee = new Employee();
+
+        employee.setName("Prashant Agrawal");
+        employee.setEmail("a,prashant2020@gmail.com");
+        employee.setGender(Gender.MALE);
+        employee.setJoiningDate(EpochDays.toDate(EpochDays.plusYears(EpochDays.today(), -1)));
+
+        return employee;
+    }
+
+    private LeaveRequest getLeaveRequestForTesting(Long empId) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+
+        int currDate = EpochDays.today();
+        leaveRequest.setEmpId(empId);
+        leaveRequest.setLeaveType(PATERNITY);
+        leaveRequest.setStartDate(Utility.epochDayToString(currDate + 1));
+        leaveRequest.setEndDate(Utility.epochDayToString(currDate + 9));
+        leaveRequest.setChildDOB(Utility.epochDayToString(currDate - 91));
+
+        return leaveRequest;
+    }
+
+    @Test
+    public void enterNewLeaveRequestsTest() {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        List<LeaveBatchItemResponse> leaveBatchItemResponses = leaveBatchService.enterNewLeaveRequests(Arrays.asList(
+                getLeaveRequestForTesting(employee.getId()),
+                getLeaveRequestForTesting(employee.getId()),
+                getLeaveRequestForTesting(-1L)));
+        if (leaveBatchItemResponses.get(0).isAccepted()) {
+            leaveRepository.deleteById(leaveBatchItemResponses.get(0).getLeave().getLeaveId());
+        }
+        employeeRepository.deleteById(employee.getId());
+
+        assertEquals(3, leaveBatchItemResponses.size());
+        assertTrue(leaveBatchItemResponses.get(0).isAccepted());
+        assertEquals(PATERNITY, leaveBatchItemResponses.get(0).getLeave().getLeaveType());
+        // overlaps the first request of the same batch
+        assertFalse(leaveBatchItemResponses.get(1).isAccepted());
+        assertNotNull(leaveBatchItemResponses.get(1).getError());
+        assertFalse(leaveBatchItemResponses.get(2).isAccepted());
+        assertEquals("Employee id: '-1' does not exist", leaveBatchItemResponses.get(2).getError());
+    }
+}
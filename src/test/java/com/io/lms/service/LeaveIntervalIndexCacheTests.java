@@ -0,0 +1,60 @@
+package com.io.lms.service;
+
+import com.io.lms.model.Employee;
+import com.io.lms.model.Gender;
+import com.io.lms.model.Leave;
+import com.io.lms.repository.EmployeeRepository;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.EpochDays;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static com.io.lms.constant.Constants.OutOfOffice;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Slf4j
+public class LeaveIntervalIndexCacheTests {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    LeaveIntervalIndexCache leaveIntervalIndexCache;
+
+    @Test
+    public void committedLeaveReachesCachedIndexTest() {
+
+        Employee employee = new Employee();
+        employee.setName("Prashant Agrawal");
+        employee.setEmail("a,prashant2020@gmail.com");
+        employee.setGender(Gender.MALE);
+        employee.setJoiningDate(EpochDays.toDate(EpochDays.today()));
+        employee = employeeRepository.save(employee);
+        int sizeBeforeInsert = leaveIntervalIndexCache.getIndex(employee.getId()).size();
+        Leave leave = new Leave();
+        leave.setEmployee(employee);
+        leave.setLeaveType(OutOfOffice);
+        leave.setLeaveCount(1L);
+        leave.setStartDate(EpochDays.toDate(EpochDays.today() + 1));
+        leave.setEndDate(EpochDays.toDate(EpochDays.today() + 1));
+        leave = leaveRepository.save(leave);
+        int sizeAfterInsert = leaveIntervalIndexCache.getIndex(employee.getId()).size();
+        boolean overlapsAfterInsert = leaveIntervalIndexCache.getIndex(employee.getId()).overlaps(EpochDays.today() + 1, EpochDays.today() + 1);
+        leaveRepository.deleteById(leave.getLeaveId());
+        int sizeAfterDelete = leaveIntervalIndexCache.getIndex(employee.getId()).size();
+        employeeRepository.deleteById(employee.getId());
+
+        assertEquals(0, sizeBeforeInsert);
+        assertEquals(1, sizeAfterInsert);
+        assertTrue(overlapsAfterInsert);
+        assertEquals(0, sizeAfterDelete);
+    }
+}
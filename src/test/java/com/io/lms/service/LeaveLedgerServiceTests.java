@@ -0,0 +1,128 @@
+package com.io.lms.service;
+
+import com.io.lms.model.Employee;
+import com.io.lms.model.Gender;
+import com.io.lms.model.Leave;
+import com.io.lms.repository.EmployeeRepository;
+import com.io.lms.repository.LeaveLedgerRepository;
+import com.io.lms.repository.LeaveRepository;
+import com.io.lms.util.EpochDays;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.io.lms.constant.Constants.OutOfOffice;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Slf4j
+public class LeaveLedgerServiceTests {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    LeaveRepository leaveRepository;
+    @Autowired
+    LeaveLedgerRepository leaveLedgerRepository;
+    @Autowired
+    LeaveLedgerService leaveLedgerService;
+    @Autowired
+    OutOfOfficeLeaveService outOfOfficeLeaveService;
+
+    private Employee getEmployeeForTesting() {
+        Employee employee = new Employee();
+
+        employee.setName("Prashant Agrawal");
+        employee.setEmail("a,prashant2020@gmail.com");
+        employee.setGender(Gender.MALE);
+        employee.setJoiningDate(EpochDays.toDate(EpochDays.plusYears(EpochDays.today(), -2)));
+
+        return employee;
+    }
+
+    @Test
+    public void debitTest() throws ParseException {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        Long totalLeaves = outOfOfficeLeaveService.calculateTotalLeave(employee.getId());
+        Long remainingBeforeDebit = leaveLedgerService.getRemaining(employee.getId(), OutOfOffice);
+        leaveLedgerService.debit(employee.getId(), OutOfOffice, EpochDays.plusYears(EpochDays.today(), -1), 3L);
+        Long remainingAfterDebit = leaveLedgerService.getRemaining(employee.getId(), OutOfOffice);
+
+        leaveLedgerRepository.deleteAll(leaveLedgerRepository.findAllByIdEmployeeIdAndIdLeaveTypeOrderByIdYear(employee.getId(), OutOfOffice));
+        employeeRepository.deleteById(employee.getId());
+
+        assertEquals(totalLeaves, remainingBeforeDebit);
+        assertEquals(Long.valueOf(totalLeaves - 3L), remainingAfterDebit);
+    }
+
+    @Test
+    public void verifyAndRebuildTest() {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        Long totalLeaves = leaveLedgerService.getRemaining(employee.getId(), OutOfOffice);
+        Leave leave = new Leave();
+        leave.setEmployee(employee);
+        leave.setLeaveType(OutOfOffice);
+        leave.setLeaveCount(2L);
+        leave.setStartDate(EpochDays.toDate(EpochDays.today()));
+        leave.setEndDate(EpochDays.toDate(EpochDays.today() + 1));
+        leave = leaveRepository.save(leave);
+        // leave written around the ledger
+        assertNotNull(leaveLedgerService.verify(employee.getId(), OutOfOffice));
+        leaveLedgerService.rebuild(employee.getId(), OutOfOffice);
+        Long remainingAfterRebuild = leaveLedgerService.getRemaining(employee.getId(), OutOfOffice);
+
+        assertNull(leaveLedgerService.verify(employee.getId(), OutOfOffice));
+        leaveRepository.deleteById(leave.getLeaveId());
+        leaveLedgerRepository.deleteAll(leaveLedgerRepository.findAllByIdEmployeeIdAndIdLeaveTypeOrderByIdYear(employee.getId(), OutOfOffice));
+        employeeRepository.deleteById(employee.getId());
+
+        assertEquals(Long.valueOf(totalLeaves - 2L), remainingAfterRebuild);
+    }
+
+    @Test
+    public void concurrentFirstReadsTest() throws Exception {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        int readers = 2;
+        ExecutorService executorService = Executors.newFixedThreadPool(readers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> reads = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                Callable<Long> read = () -> {
+                    start.await();
+                    return leaveLedgerService.getRemaining(employee.getId(), OutOfOffice);
+                };
+                reads.add(executorService.submit(read));
+            }
+            // both readers find no ledger rows and open the same years
+            start.countDown();
+            Long expectedRemaining = outOfOfficeLeaveService.calculateTotalLeave(employee.getId());
+            for (Future<Long> remaining : reads) {
+                assertEquals(expectedRemaining, remaining.get());
+            }
+            assertEquals(3, leaveLedgerRepository.findAllByIdEmployeeIdAndIdLeaveTypeOrderByIdYear(employee.getId(), OutOfOffice).size());
+        } finally {
+            executorService.shutdown();
+            leaveLedgerRepository.deleteAll(leaveLedgerRepository.findAllByIdEmployeeIdAndIdLeaveTypeOrderByIdYear(employee.getId(), OutOfOffice));
+            employeeRepository.deleteById(employee.getId());
+        }
+    }
+}
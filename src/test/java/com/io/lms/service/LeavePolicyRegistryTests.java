@@ -0,0 +1,153 @@
+package com.io.lms.service;
+
+import com.io.lms.dto.LeaveRequest;
+import com.io.lms.model.Employee;
+import com.io.lms.model.Gender;
+import com.io.lms.repository.EmployeeRepository;
+import com.io.lms.util.EpochDays;
+import com.io.lms.util.Utility;
+import com.io.lms.util.ValidationResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.io.lms.constant.Constants.MATERNITY;
+import static com.io.lms.constant.Constants.OutOfOffice;
+import static com.io.lms.constant.Constants.PATERNITY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Slf4j
+public class LeavePolicyRegistryTests {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+    @Autowired
+    EmployeeService employeeService;
+    @Autowired
+    LeavePolicyRegistry leavePolicyRegistry;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    MaternityLeaveService maternityLeaveService;
+    @Autowired
+    LeaveServicesFactory leaveServicesFactory;
+
+    private Employee getEmployeeForTesting() throws ParseException {
+        Employee employee = new Employee();
+
+        employee.setName("Prashant Agrawal");
+        employee.setEmail("a,prashant2020@gmail.com");
+        employee.setGender(Gender.MALE);
+        employee.setJoiningDate(Utility.getDateOneYearPrior(Utility.getCurrentDate()));
+
+        return employee;
+    }
+
+    private LeaveRequest getLeaveRequestForTesting(String leaveType, int startOffset, int endOffset) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+
+        int today = EpochDays.today();
+        leaveRequest.setLeaveType(leaveType);
+        leaveRequest.setStartDate(EpochDays.format(today + startOffset));
+        leaveRequest.setEndDate(EpochDays.format(today + endOffset));
+
+        return leaveRequest;
+    }
+
+    @Test
+    public void defaultPoliciesTest() {
+        assertTrue(leavePolicyRegistry.getTypes().containsAll(Arrays.asList(OutOfOffice, MATERNITY, PATERNITY)));
+        assertEquals(PATERNITY, leavePolicyRegistry.getPolicy(PATERNITY).getType());
+    }
+
+    @Test
+    public void getServiceOfUnnormalizedTypeTest() {
+        assertEquals(PATERNITY, leaveServicesFactory.getService(PATERNITY).getType());
+        assertEquals(PATERNITY, leaveServicesFactory.getService(" " + PATERNITY.toUpperCase() + " ").getType());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void getPolicyOfUnknownTypeTest() {
+        leavePolicyRegistry.getPolicy("sabbatical");
+    }
+
+    @Test
+    public void checkCollectsEveryViolationTest() throws ParseException {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        try {
+            EmployeeContext employeeContext = employeeService.loadEmployeeContext(employee.getId());
+
+            LeaveRequest maternityRequest = getLeaveRequestForTesting(MATERNITY, 1, 30);
+            maternityRequest.setExpectedDeliveryDate(EpochDays.format(EpochDays.today()));
+            ValidationResult maternityResult = leavePolicyRegistry.getPolicy(MATERNITY).check(maternityRequest, employeeContext, new ValidationResult());
+            assertFalse(maternityResult.isValid());
+            assertTrue(maternityResult.getViolations().contains("Employee is not female"));
+            assertTrue(maternityResult.getViolations().contains("Expected Date of delivery is before the leave start date"));
+
+            LeaveRequest paternityRequest = getLeaveRequestForTesting(PATERNITY, 1, 9);
+            paternityRequest.setChildDOB(EpochDays.format(EpochDays.today() + 5));
+            ValidationResult paternityResult = leavePolicyRegistry.getPolicy(PATERNITY).check(paternityRequest, employeeContext, new ValidationResult());
+            assertEquals(Collections.singletonList("Child's D.O.B is after the leave start date"), paternityResult.getViolations());
+        } finally {
+            employeeRepository.deleteById(employee.getId());
+        }
+    }
+
+    @Test
+    public void configuredPolicyTest() throws ParseException {
+        LeavePolicyDefinition bereavement = new LeavePolicyDefinition();
+        bereavement.setType("Bereavement");
+        bereavement.setEligibleGender(Gender.FEMALE);
+        bereavement.setMaxDays(5L);
+        LeavePolicyProperties leavePolicyProperties = new LeavePolicyProperties();
+        leavePolicyProperties.setPolicies(Collections.singletonList(bereavement));
+        LeavePolicyRegistry leavePolicyRegistry = new LeavePolicyRegistry(leavePolicyProperties, new SimpleMeterRegistry());
+
+        assertTrue(leavePolicyRegistry.getTypes().contains("bereavement"));
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        try {
+            EmployeeContext employeeContext = employeeService.loadEmployeeContext(employee.getId());
+            LeavePolicy leavePolicy = leavePolicyRegistry.getPolicy("bereavement");
+            ValidationResult validationResult = leavePolicy.check(getLeaveRequestForTesting("bereavement", 1, 30), employeeContext, new ValidationResult());
+            assertEquals(2, validationResult.getViolationCount());
+            assertTrue(validationResult.getViolations().contains("Employee is not female"));
+            assertTrue(validationResult.getViolations().contains("Leave demanded is greater than total leave available, Leave balance is lesser"));
+            assertEquals(5L, (long) leavePolicy.getBalance(employee.getId()));
+        } finally {
+            employeeRepository.deleteById(employee.getId());
+        }
+    }
+
+    @Test
+    public void rejectionMetricsTest() throws ParseException {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        try {
+            double genderRejections = meterRegistry.counter("lms.leave.rejections", "type", MATERNITY, "constraint", "gender").count();
+            long checks = meterRegistry.timer("lms.leave.service", "method", "checkLeaveRequest", "type", MATERNITY).count();
+            LeaveRequest leaveRequest = getLeaveRequestForTesting(MATERNITY, 1, 30);
+            leaveRequest.setExpectedDeliveryDate(EpochDays.format(EpochDays.today() + 1));
+            ValidationResult validationResult = new ValidationResult();
+            maternityLeaveService.enterNewLeaveRequest(leaveRequest, employee.getId(), validationResult);
+            assertFalse(validationResult.isValid());
+            assertEquals(genderRejections + 1, meterRegistry.counter("lms.leave.rejections", "type", MATERNITY, "constraint", "gender").count(), 0.0);
+            assertEquals(checks + 1, meterRegistry.timer("lms.leave.service", "method", "checkLeaveRequest", "type", MATERNITY).count());
+        } finally {
+            employeeRepository.deleteById(employee.getId());
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.io.lms.model.Gender;
 import com.io.lms.repository.EmployeeRepository;
 import com.io.lms.repository.LeaveRepository;
 import com.io.lms.util.Utility;
+import com.io.lms.util.ValidationResult;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -21,6 +22,7 @@ import java.util.Date;
 
 import static com.io.lms.constant.Constants.OutOfOffice;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -102,6 +104,29 @@ public class OutOfOfficeLeaveServiceTests {
 
     }
 
+    @Test
+    public void enterNewLeaveRequestWithValidationResultTest() throws ParseException {
+
+        Employee employee = employeeRepository.save(getEmployeeForTesting());
+        LeaveRequest leaveRequestForTesting = getLeaveRequestForTesting();
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(employee.getJoiningDate());
+        calendar.add(Calendar.DAY_OF_YEAR, -5);
+        leaveRequestForTesting.setStartDate(Utility.dateToString(calendar.getTime()));
+        calendar.add(Calendar.DAY_OF_YEAR, -5);
+        leaveRequestForTesting.setEndDate(Utility.dateToString(calendar.getTime()));
+        ValidationResult validationResult = new ValidationResult();
+        LeaveResponse leaveResponse = outOfOfficeLeaveService.enterNewLeaveRequest(leaveRequestForTesting, employee.getId(), validationResult);
+        long leavesStored = leaveRepository.countByEmployeeIdAndLeaveType(employee.getId(), OutOfOffice);
+        employeeRepository.deleteById(employee.getId());
+
+        assertNull(leaveResponse);
+        assertEquals(0L, leavesStored);
+        // the reversed range is rejected on its own, before the joining date is looked at
+        assertEquals(1, validationResult.getViolations().size());
+        assertEquals("start-Date is greater than end-Date", validationResult.getViolations().get(0));
+    }
+
     @Test
     public void getLeaveBalanceTest() throws ParseException {
 
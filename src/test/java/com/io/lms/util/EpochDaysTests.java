@@ -0,0 +1,71 @@
+package com.io.lms.util;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Calendar;
+import java.util.Date;
+
+import static com.io.lms.constant.Constants.DATE_FORMAT;
+import static com.io.lms.constant.Constants.DATE_TIME_FORMAT;
+import static org.junit.Assert.assertEquals;
+
+public class EpochDaysTests {
+
+    @Test
+    public void civilConversionsMatchLocalDateTest() {
+        for (int epochDay = EpochDays.of(1899, 12, 25); epochDay <= EpochDays.of(2101, 1, 5); epochDay++) {
+            LocalDate localDate = LocalDate.ofEpochDay(epochDay);
+            assertEquals(localDate.getYear(), EpochDays.year(epochDay));
+            assertEquals(localDate.getMonthValue(), EpochDays.month(epochDay));
+            assertEquals(localDate.getDayOfMonth(), EpochDays.dayOfMonth(epochDay));
+            assertEquals(epochDay, EpochDays.of(localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth()));
+            assertEquals(localDate.getDayOfWeek().getValue() % 7 + 1, EpochDays.dayOfWeek(epochDay));
+        }
+    }
+
+    @Test
+    public void parseAndFormatMatchSimpleDateFormatTest() throws Exception {
+        SimpleDateFormat formatter = new SimpleDateFormat(DATE_FORMAT);
+        Date date = formatter.parse("29-02-2020");
+        int epochDay = EpochDays.parse("29-02-2020");
+        assertEquals(EpochDays.of(date), epochDay);
+        assertEquals(date, EpochDays.toDate(epochDay));
+        assertEquals("29-02-2020", EpochDays.format(epochDay));
+        assertEquals(epochDay, EpochDays.parse("29-02-2020 10:30:00"));
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void parseWithWrongFormatTest() {
+        EpochDays.parse("01-01/2020");
+    }
+
+    @Test
+    public void parseDateTimeTest() throws Exception {
+        SimpleDateFormat formatter = new SimpleDateFormat(DATE_TIME_FORMAT);
+        String strDate = "15-03-2020 18:45:10";
+        long epochMilli = EpochDays.parseDateTimeToEpochMilli(strDate);
+        assertEquals(formatter.parse(strDate).getTime(), epochMilli);
+        assertEquals(strDate, EpochDays.formatDateTime(epochMilli));
+    }
+
+    @Test
+    public void daysCountAcrossDaylightSavingChangeTest() {
+        int startEpochDay = EpochDays.of(2020, 3, 1);
+        int endEpochDay = EpochDays.of(2020, 3, 31);
+        assertEquals(31L, EpochDays.daysCount(startEpochDay, endEpochDay));
+        assertEquals(31L, Utility.getDaysCount(EpochDays.toDate(startEpochDay), EpochDays.toDate(endEpochDay)));
+    }
+
+    @Test
+    public void plusYearsTest() {
+        assertEquals(EpochDays.of(2019, 2, 28), EpochDays.plusYears(EpochDays.of(2020, 2, 29), -1));
+        assertEquals(EpochDays.of(2019, 8, 20), EpochDays.plusYears(EpochDays.of(2020, 8, 20), -1));
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(EpochDays.toDate(EpochDays.of(2020, 2, 29)));
+        calendar.add(Calendar.YEAR, -1);
+        assertEquals(EpochDays.of(calendar.getTime()), EpochDays.plusYears(EpochDays.of(2020, 2, 29), -1));
+    }
+}
@@ -0,0 +1,61 @@
+package com.io.lms.util;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@Slf4j
+public class LeaveApplyEventsTests {
+
+    @Test
+    public void disabledByDefaultTest() {
+        LeaveApplyEvents.DateParsing event = new LeaveApplyEvents.DateParsing();
+        assertFalse(event.isEnabled());
+        assertFalse(event.shouldCommit());
+    }
+
+    @Test
+    public void recordedWhenEnabledTest() throws Exception {
+        Path recordingPath = Files.createTempFile("leave-apply", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.io.lms.ConstraintCheck");
+            recording.start();
+            LeaveApplyEvents.ConstraintCheck event = new LeaveApplyEvents.ConstraintCheck();
+            event.begin();
+            event.constraint = "gender";
+            event.rejected = true;
+            event.commit(42L, "maternity", LeaveApplyEvents.rangeDays(100, 109));
+            recording.stop();
+            recording.dump(recordingPath);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(recordingPath).stream()
+                    .filter(recordedEvent -> recordedEvent.getEventType().getName().equals("com.io.lms.ConstraintCheck"))
+                    .collect(Collectors.toList());
+            assertEquals(1, events.size());
+            assertEquals(42L, events.get(0).getLong("empId"));
+            assertEquals("maternity", events.get(0).getString("leaveType"));
+            assertEquals(10L, events.get(0).getLong("rangeDays"));
+            assertEquals("gender", events.get(0).getString("constraint"));
+            assertTrue(events.get(0).getBoolean("rejected"));
+        } finally {
+            Files.deleteIfExists(recordingPath);
+        }
+    }
+
+    @Test
+    public void rangeDaysTest() {
+        assertEquals(1L, LeaveApplyEvents.rangeDays(100, 100));
+        assertEquals(0L, LeaveApplyEvents.rangeDays(100, 99));
+    }
+}
@@ -0,0 +1,46 @@
+package com.io.lms.util;
+
+import com.io.lms.model.Leave;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LeaveIntervalIndexTests {
+
+    private static Leave leave(long leaveId, String startDate, String endDate) {
+        Leave leave = new Leave();
+        leave.setLeaveId(leaveId);
+        leave.setLeaveType("OOO");
+        leave.setStartDate(EpochDays.toDate(EpochDays.parse(startDate)));
+        leave.setEndDate(EpochDays.toDate(EpochDays.parse(endDate)));
+        return leave;
+    }
+
+    @Test
+    public void overlapsTest() {
+        LeaveIntervalIndex leaveIntervalIndex = LeaveIntervalIndex.of(Arrays.asList(
+                leave(2L, "10-09-2020", "12-09-2020"),
+                leave(1L, "01-09-2020", "03-09-2020")));
+        assertTrue(leaveIntervalIndex.overlaps(EpochDays.parse("03-09-2020"), EpochDays.parse("05-09-2020")));
+        assertTrue(leaveIntervalIndex.overlaps(EpochDays.parse("11-09-2020"), EpochDays.parse("11-09-2020")));
+        assertFalse(leaveIntervalIndex.overlaps(EpochDays.parse("04-09-2020"), EpochDays.parse("09-09-2020")));
+        assertFalse(leaveIntervalIndex.overlaps(EpochDays.parse("13-09-2020"), EpochDays.parse("30-09-2020")));
+    }
+
+    @Test
+    public void findOverlappingTest() {
+        LeaveIntervalIndex leaveIntervalIndex = LeaveIntervalIndex.empty()
+                .withLeave(leave(3L, "20-09-2020", "22-09-2020"))
+                .withLeave(leave(1L, "01-09-2020", "03-09-2020"))
+                .withLeave(leave(2L, "10-09-2020", "12-09-2020"));
+        assertEquals(3, leaveIntervalIndex.size());
+        assertEquals(Arrays.asList(0, 1), leaveIntervalIndex.findOverlapping(EpochDays.parse("02-09-2020"), EpochDays.parse("15-09-2020")));
+        assertEquals(Long.valueOf(2L), leaveIntervalIndex.getLeaveId(1));
+        assertEquals(Collections.emptyList(), leaveIntervalIndex.findOverlapping(EpochDays.parse("13-09-2020"), EpochDays.parse("19-09-2020")));
+    }
+}
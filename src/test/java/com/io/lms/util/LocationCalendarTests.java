@@ -0,0 +1,64 @@
+package com.io.lms.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@Slf4j
+public class LocationCalendarTests {
+
+    // Friday is the only non-working day; holidays fall on a Friday, on year boundaries and on 31-12 of a leap year
+    private final List<Integer> holidays = Arrays.asList(day("01-01-2020"), day("04-09-2020"), day("31-12-2020"), day("01-01-2021"), day("15-08-2022"));
+    private final LocationCalendar locationCalendar = new LocationCalendar("test", holidays, Arrays.asList(6));
+
+    private static int day(String date) {
+        try {
+            return Utility.stringToEpochDay(date);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Test
+    public void isHolidayTest() {
+        for (int holiday : holidays) {
+            assertTrue(locationCalendar.isHoliday(holiday));
+        }
+        assertFalse(locationCalendar.isHoliday(day("30-12-2020")));
+        assertFalse(locationCalendar.isHoliday(day("01-01-2019")));
+        assertFalse(locationCalendar.isHoliday(day("01-01-2030")));
+        assertTrue(locationCalendar.isNonWorkingDay(day("04-09-2020")));
+        assertFalse(locationCalendar.isNonWorkingDay(day("05-09-2020")));
+    }
+
+    @Test
+    public void rangeCountsMatchDayByDayScanTest() {
+        int[][] ranges = {{day("25-12-2019"), day("10-01-2023")}, {day("02-01-2020"), day("30-12-2020")}, {day("31-12-2020"), day("01-01-2021")},
+                {day("04-09-2020"), day("04-09-2020")}, {day("01-01-2024"), day("31-12-2024")}};
+        for (int[] range : ranges) {
+            long expectedHolidays = 0L;
+            long expectedNonWorkingDays = 0L;
+            long expectedHolidaysAndNonWorkingDays = 0L;
+            long expectedWorkingDays = 0L;
+            for (int epochDay = range[0]; epochDay <= range[1]; epochDay++) {
+                boolean isHoliday = holidays.contains(epochDay);
+                boolean isNonWorkingDay = Utility.getDayOfWeek(epochDay) == 6;
+                expectedHolidays += isHoliday ? 1 : 0;
+                expectedNonWorkingDays += isNonWorkingDay ? 1 : 0;
+                expectedHolidaysAndNonWorkingDays += (isHoliday && isNonWorkingDay) ? 1 : 0;
+                expectedWorkingDays += (isHoliday || isNonWorkingDay) ? 0 : 1;
+            }
+            assertEquals(expectedHolidays, locationCalendar.numOfHolidays(range[0], range[1]));
+            assertEquals(expectedNonWorkingDays, locationCalendar.numOfNonWorkingDays(range[0], range[1]));
+            assertEquals(expectedHolidaysAndNonWorkingDays, locationCalendar.numOfHolidaysAndNonWorkingDays(range[0], range[1]));
+            assertEquals(expectedWorkingDays, locationCalendar.numOfWorkingDays(range[0], range[1]));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.io.lms.util;
+
+import com.io.lms.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.io.lms.constant.Constants.MAX_CONFLICT_ATTEMPTS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@Slf4j
+public class OptimisticRetryTests {
+
+    @Test
+    public void retriesUntilSuccessTest() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        String result = OptimisticRetry.call(() -> {
+            if (attempts.incrementAndGet() < MAX_CONFLICT_ATTEMPTS) {
+                throw new ObjectOptimisticLockingFailureException(Employee.class, 1L);
+            }
+            return "applied";
+        });
+        assertEquals("applied", result);
+        assertEquals(MAX_CONFLICT_ATTEMPTS, attempts.get());
+    }
+
+    @Test
+    public void givesUpAfterMaxAttemptsTest() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        boolean conflictPropagated = false;
+        try {
+            OptimisticRetry.call(() -> {
+                attempts.incrementAndGet();
+                throw new ObjectOptimisticLockingFailureException(Employee.class, 1L);
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            conflictPropagated = true;
+        }
+        assertTrue(conflictPropagated);
+        assertEquals(MAX_CONFLICT_ATTEMPTS, attempts.get());
+    }
+
+    @Test
+    public void doesNotRetryOtherFailuresTest() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        boolean failurePropagated = false;
+        try {
+            OptimisticRetry.call(() -> {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("not a conflict");
+            });
+        } catch (IllegalStateException e) {
+            failurePropagated = true;
+        }
+        assertTrue(failurePropagated);
+        assertEquals(1, attempts.get());
+    }
+}
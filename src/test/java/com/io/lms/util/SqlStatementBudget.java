@@ -0,0 +1,47 @@
+package com.io.lms.util;
+
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.Callable;
+
+import static com.io.lms.constant.Constants.SQL_STATEMENTS_HEADER;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Statement budgets for tests: a flow that starts issuing a query per row, or per related entity, goes over its
+ * budget and fails the build.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static SqlStatementStats measure(Callable<?> work) throws Exception {
+        SqlStatementStats sqlStatementStats = SqlStatementStats.begin();
+        try {
+            work.call();
+        } finally {
+            sqlStatementStats.end();
+        }
+        return sqlStatementStats;
+    }
+
+    public static SqlStatementStats assertWithin(long maxStatements, Callable<?> work) throws Exception {
+        SqlStatementStats sqlStatementStats = measure(work);
+        assertTrue("Expected at most " + maxStatements + " statements, but ran " + sqlStatementStats,
+                sqlStatementStats.getStatements() <= maxStatements);
+        return sqlStatementStats;
+    }
+
+    /**
+     * Checks the statement count a request reported in its diagnostics header.
+     */
+    public static long assertWithin(long maxStatements, MvcResult mvcResult) {
+        String statements = mvcResult.getResponse().getHeader(SQL_STATEMENTS_HEADER);
+        assertNotNull("Response has no " + SQL_STATEMENTS_HEADER + " header", statements);
+        assertTrue("Expected at most " + maxStatements + " statements, but " + mvcResult.getRequest().getRequestURI() + " ran " + statements,
+                Long.parseLong(statements) <= maxStatements);
+        return Long.parseLong(statements);
+    }
+}
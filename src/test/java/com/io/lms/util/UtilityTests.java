@@ -413,6 +413,34 @@ public class UtilityTests {
         assertTrue(actual);
     }
 
+    @Test
+    public void checkLeaveRequestCommonConstraintsTest() throws ParseException {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        Employee employee = new Employee();
+
+        leaveRequest.setStartDate("18-08-2020");
+        leaveRequest.setEndDate("17-08-2020");
+        employee.setJoiningDate(Utility.stringToDate("19-08-2020"));
+        ValidationResult validationResult = Utility.checkLeaveRequestCommonConstraints(leaveRequest, employee, LeaveIntervalIndex.of(new ArrayList<>()), new ValidationResult());
+        assertFalse(validationResult.isValid());
+        // a reversed range is not checked against the joining date or the other leaves
+        assertEquals(1, validationResult.getViolations().size());
+        assertEquals("start-Date is greater than end-Date", validationResult.getViolations().get(0));
+    }
+
+    @Test
+    public void checkLeaveRequestCommonConstraintsWithInvalidDatesTest() throws ParseException {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        Employee employee = new Employee();
+
+        leaveRequest.setStartDate("2020-08-18");
+        employee.setJoiningDate(Utility.stringToDate("19-08-2020"));
+        ValidationResult validationResult = Utility.checkLeaveRequestCommonConstraints(leaveRequest, employee, LeaveIntervalIndex.of(new ArrayList<>()), new ValidationResult());
+        assertEquals(2, validationResult.getViolations().size());
+        assertEquals("start-Date is not a valid dd-MM-yyyy date: 2020-08-18", validationResult.getViolations().get(0));
+        assertEquals("end-Date is missing", validationResult.getViolations().get(1));
+    }
+
     @Test(expected = LeaveConstraintFailException.class)
     public void validateLeaveRequestCommonConstraintsWithStartDateConstraintsFailTest() throws ParseException {
         LeaveRequest leaveRequest = new LeaveRequest();
@@ -0,0 +1,71 @@
+package com.io.lms.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@Slf4j
+public class WorkingDayCalendarIndexTests {
+
+    private final WorkingDayCalendarIndex workingDayCalendarIndex = new WorkingDayCalendarIndex(HolidaysAndNonWorkingDays.getInstance(), 2020, 2021);
+
+    @Test
+    public void coversTest() throws ParseException {
+        int startEpochDay = Utility.toEpochDay(Utility.stringToDate("01-01-2020"));
+        int endEpochDay = Utility.toEpochDay(Utility.stringToDate("31-12-2021"));
+        assertTrue(workingDayCalendarIndex.covers(startEpochDay, endEpochDay));
+        assertFalse(workingDayCalendarIndex.covers(startEpochDay - 1, endEpochDay));
+        assertFalse(workingDayCalendarIndex.covers(startEpochDay, endEpochDay + 1));
+    }
+
+    @Test
+    public void rangeCountsMatchDayByDayScanTest() throws ParseException {
+        HolidaysAndNonWorkingDays holidaysAndNonWorkingDays = HolidaysAndNonWorkingDays.getInstance();
+        HashSet<Date> holidays = holidaysAndNonWorkingDays.getHolidaysSet();
+        HashSet<Integer> nonWorkingDays = holidaysAndNonWorkingDays.getNonWorkingDaysSet();
+        Date startDate = Utility.stringToDate("25-08-2020");
+        Date endDate = Utility.stringToDate("20-12-2020");
+        long expectedHolidays = 0L;
+        long expectedNonWorkingDays = 0L;
+        long expectedHolidaysAndNonWorkingDays = 0L;
+        long expectedWorkingDays = 0L;
+        Date tempDate = startDate;
+        while (!tempDate.after(endDate)) {
+            boolean isHoliday = holidays.contains(tempDate);
+            boolean isNonWorkingDay = nonWorkingDays.contains(Utility.getDayOfWeek(tempDate));
+            expectedHolidays += isHoliday ? 1 : 0;
+            expectedNonWorkingDays += isNonWorkingDay ? 1 : 0;
+            expectedHolidaysAndNonWorkingDays += (isHoliday && isNonWorkingDay) ? 1 : 0;
+            expectedWorkingDays += (isHoliday || isNonWorkingDay) ? 0 : 1;
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTime(tempDate);
+            calendar.add(Calendar.DAY_OF_YEAR, 1);
+            tempDate = calendar.getTime();
+        }
+        int startEpochDay = Utility.toEpochDay(startDate);
+        int endEpochDay = Utility.toEpochDay(endDate);
+        assertEquals(expectedHolidays, workingDayCalendarIndex.numOfHolidays(startEpochDay, endEpochDay));
+        assertEquals(expectedNonWorkingDays, workingDayCalendarIndex.numOfNonWorkingDays(startEpochDay, endEpochDay));
+        assertEquals(expectedHolidaysAndNonWorkingDays, workingDayCalendarIndex.numOfHolidaysAndNonWorkingDays(startEpochDay, endEpochDay));
+        assertEquals(expectedWorkingDays, workingDayCalendarIndex.numOfWorkingDays(startEpochDay, endEpochDay));
+    }
+
+    @Test
+    public void singleDayRangeTest() throws ParseException {
+        int holiday = Utility.toEpochDay(Utility.stringToDate("01-09-2020"));
+        int sunday = Utility.toEpochDay(Utility.stringToDate("23-08-2020"));
+        int workingDay = Utility.toEpochDay(Utility.stringToDate("19-08-2020"));
+        assertEquals(1L, workingDayCalendarIndex.numOfHolidays(holiday, holiday));
+        assertEquals(1L, workingDayCalendarIndex.numOfNonWorkingDays(sunday, sunday));
+        assertEquals(1L, workingDayCalendarIndex.numOfWorkingDays(workingDay, workingDay));
+        assertEquals(0L, workingDayCalendarIndex.numOfWorkingDays(sunday, sunday));
+    }
+}